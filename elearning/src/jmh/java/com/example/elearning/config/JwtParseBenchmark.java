@@ -0,0 +1,86 @@
+package com.example.elearning.config;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Cost of authenticating one request's token: full signature verification
+ * as before the cache, a cache hit, and a miss against a full cache, which
+ * has to evict before it can admit the token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key";
+    private static final int CACHE_SIZE = 10_000;
+
+    private JwtService jwtService;
+    private JwtParser parser;
+    private String hot;
+    // Four times the cache size, so every parse in missOnFullCache is a miss
+    private String[] cold;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheSize", CACHE_SIZE);
+        jwtService.init();
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        hot = jwtService.generateToken(user(1L));
+        cold = new String[CACHE_SIZE * 4];
+        for (int i = 0; i < cold.length; i++) {
+            cold[i] = jwtService.generateToken(user(i + 2L));
+        }
+        for (String token : cold) {
+            jwtService.parseToken(token);
+        }
+    }
+
+    @Benchmark
+    public Claims verifyEveryTime() {
+        return parser.parseClaimsJws(hot).getBody();
+    }
+
+    @Benchmark
+    public JwtClaims cacheHit() {
+        return jwtService.parseToken(hot);
+    }
+
+    @Benchmark
+    public JwtClaims missOnFullCache() {
+        String token = cold[next];
+        next = (next + 1) % cold.length;
+        return jwtService.parseToken(token);
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Messages per second through {@link EmailService#send} with and without
+ * the SMTP connection pool, from as many threads as the outbox dispatcher
+ * uses by default. Mail goes over real SMTP to a {@link LocalSmtpServer} on
+ * loopback, which delays its greeting by {@code connectMs} to stand in for
+ * TLS and AUTH on every new connection.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Threads(4)
+@Fork(1)
+public class EmailThroughputBenchmark {
+    @Param({ "false", "true" })
+    boolean pooled;
+
+    @Param({ "5" })
+    long connectMs;
+
+    private LocalSmtpServer server;
+    private EmailService emailService;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new LocalSmtpServer(connectMs);
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(server.port());
+        emailService = new EmailService(sender, new SimpleMeterRegistry(), pooled, 4, 10_000);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        emailService.closePool();
+        System.out.println("SMTP connections: " + server.connections() + ", messages: " + server.accepted());
+        server.close();
+    }
+
+    @Benchmark
+    public void send() {
+        emailService.send("student@example.com", "Enrollment Confirmed", "Welcome to the course");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.elearning.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal SMTP listener on a loopback port: accepts every command, reads
+ * and discards message bodies, and counts accepted messages. The greeting
+ * is delayed by {@code greetingDelayMs} to stand in for the TLS handshake
+ * and AUTH round trips a real server costs per connection.
+ */
+class LocalSmtpServer implements AutoCloseable {
+    private final ServerSocket socket;
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final long greetingDelayMs;
+
+    LocalSmtpServer(long greetingDelayMs) throws IOException {
+        this.greetingDelayMs = greetingDelayMs;
+        this.socket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        sessions.execute(this::acceptLoop);
+    }
+
+    int port() {
+        return socket.getLocalPort();
+    }
+
+    long accepted() {
+        return accepted.get();
+    }
+
+    long connections() {
+        return connections.get();
+    }
+
+    private void acceptLoop() {
+        while (!socket.isClosed()) {
+            try {
+                Socket client = socket.accept();
+                connections.incrementAndGet();
+                sessions.execute(() -> session(client));
+            } catch (IOException e) {
+                // Closed
+            }
+        }
+    }
+
+    private void session(Socket client) {
+        try (client;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(client.getInputStream(), StandardCharsets.US_ASCII));
+                OutputStream out = client.getOutputStream()) {
+            if (greetingDelayMs > 0) {
+                Thread.sleep(greetingDelayMs);
+            }
+            reply(out, "220 localhost ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Body is discarded
+                        }
+                        accepted.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+        sessions.shutdownNow();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.elearning.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Grading one MCQ submission: streaming it against the cached answer key
+ * versus parsing it into a map and matching every question, as before the
+ * key existed. Question rows are in memory for both, so only the grading
+ * itself is compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class McqGradingBenchmark {
+    private static final TypeReference<Map<String, String>> ANSWERS = new TypeReference<>() {
+    };
+
+    @Param({ "10", "50", "200" })
+    int questions;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonFactory json = mapper.getFactory();
+    private List<Object[]> rows;
+    private McqAnswerKey key;
+    private String[] submissions;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Random random = new Random(42);
+        String[] choices = { "A", "B", "C", "D" };
+        rows = new ArrayList<>();
+        for (long id = 1000; id < 1000 + questions; id++) {
+            rows.add(new Object[] { id, choices[random.nextInt(choices.length)] });
+        }
+        key = McqAnswerKey.of(9L, rows);
+        submissions = new String[64];
+        for (int i = 0; i < submissions.length; i++) {
+            Map<String, String> answers = new HashMap<>();
+            for (Object[] row : rows) {
+                answers.put(row[0].toString(), choices[random.nextInt(choices.length)]);
+            }
+            submissions[i] = mapper.writeValueAsString(answers);
+        }
+    }
+
+    @Benchmark
+    public int answerKey() {
+        return key.grade(json, nextSubmission());
+    }
+
+    @Benchmark
+    public int answerMap() throws Exception {
+        Map<String, String> answers = mapper.readValue(nextSubmission(), ANSWERS);
+        int correct = 0;
+        for (Object[] row : rows) {
+            String answer = answers.get(row[0].toString());
+            if (answer != null && answer.equals(row[1])) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    private String nextSubmission() {
+        String submission = submissions[next];
+        next = (next + 1) % submissions.length;
+        return submission;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.elearning.service;
+
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.elearning.repository.NotificationRepository;
+
+/**
+ * One course-wide notification to 10k recipients through
+ * {@link NotificationService#notifyAllById}, in one transaction against H2
+ * in MySQL mode. A batch size of 1 is the old one-insert-per-user cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationFanOutBenchmark {
+    private static final int RECIPIENTS = 10_000;
+
+    @Param({ "1", "100", "500" })
+    int batchSize;
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate tx;
+    private NotificationService service;
+    private List<Long> recipients;
+
+    @Setup
+    public void setUp() {
+        db = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("fanout;MODE=MySQL")
+                .generateUniqueName(false)
+                .build();
+        jdbc = new JdbcTemplate(db);
+        jdbc.execute("create table notifications (id bigint auto_increment primary key, user_id bigint not null, "
+                + "message varchar(255), type varchar(255), is_read boolean, related_entity_id bigint, "
+                + "created_at timestamp, collapsed_count int)");
+        tx = new TransactionTemplate(new DataSourceTransactionManager(db));
+        // Nobody is subscribed, so the after-commit push only walks the registry
+        service = new NotificationService(mock(NotificationRepository.class),
+                new NotificationStreamRegistry(60_000), new NotificationUnreadCounter(), jdbc, batchSize);
+        recipients = LongStream.rangeClosed(1, RECIPIENTS).boxed().toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbc.execute("truncate table notifications");
+    }
+
+    @TearDown
+    public void tearDown() {
+        db.shutdown();
+    }
+
+    @Benchmark
+    public void fanOut() {
+        tx.executeWithoutResult(status -> service.notifyAllById(recipients, "New lesson", "LESSON", 9L));
+    }
+}
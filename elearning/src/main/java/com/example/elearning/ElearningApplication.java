@@ -1,7 +1,9 @@
 package com.example.elearning;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 @SpringBootApplication
+@EnableScheduling
 public class ElearningApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(ElearningApplication.class, args);
@@ -0,0 +1,19 @@
+package com.example.elearning.config;
+
+/**
+ * Verified contents of an access token. {@code userId}, {@code enabled} and
+ * {@code tokenVersion} are {@code null} for tokens issued before they were
+ * added to the claims.
+ */
+public record JwtClaims(
+        String email,
+        String role,
+        Long userId,
+        Boolean enabled,
+        Integer tokenVersion,
+        long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.elearning.config;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 import org.springframework.beans.factory.annotation.Value;
 import jakarta.annotation.PostConstruct;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import com.example.elearning.model.User;
 
 @Component
 public class JwtService {
@@ -21,11 +30,23 @@ public class JwtService {
 	@Value("${jwt.expiration}")
 	private long expiration;
 
+	@Value("${jwt.cache-size:10000}")
+	private int cacheSize;
+
 	private Key key;
 
+	// Built once; the parser is immutable and safe to share between threads
+	private JwtParser parser;
+
+	// SHA-256 of an already verified token -> its claims, dropped once expired
+	private final Map<String, JwtClaims> verifiedTokens = new ConcurrentHashMap<>();
+
 	@PostConstruct
 	public void init() {
 		this.key = Keys.hmacShaKeyFor(secret.getBytes());
+		this.parser = Jwts.parserBuilder()
+				.setSigningKey(key)
+				.build();
 	}
 
 	public String generateToken(String email, String role) {
@@ -38,23 +59,102 @@ public class JwtService {
 				.compact();
 	}
 
+	public String generateToken(User user) {
+		return Jwts.builder()
+				.setSubject(user.getEmail())
+				.claim("role", user.getRole().name())
+				.claim("uid", user.getId())
+				.claim("enabled", user.isEnabled())
+				.claim("ver", user.getTokenVersion())
+				.setIssuedAt(new Date())
+				.setExpiration(new Date(System.currentTimeMillis() + expiration))
+				.signWith(key, SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	/**
+	 * Verifies the token signature and expiry once and returns its claims.
+	 * Tokens seen before are answered from the verified-token cache until
+	 * they expire.
+	 *
+	 * @throws JwtException if the token is invalid or expired
+	 */
+	public JwtClaims parseToken(String token) {
+		String hash = hash(token);
+		long now = System.currentTimeMillis();
+		JwtClaims cached = verifiedTokens.get(hash);
+		if (cached != null) {
+			if (!cached.isExpired(now)) {
+				return cached;
+			}
+			verifiedTokens.remove(hash);
+		}
+		Claims body = parse(token).getBody();
+		JwtClaims claims = new JwtClaims(
+				body.getSubject(),
+				body.get("role", String.class),
+				body.get("uid", Long.class),
+				body.get("enabled", Boolean.class),
+				body.get("ver", Integer.class),
+				body.getExpiration().getTime());
+		cache(hash, claims, now);
+		return claims;
+	}
+
 	public String extractEmail(String token) {
-		return parse(token).getBody().getSubject();
+		return parseToken(token).email();
 	}
 
 	public boolean validate(String token) {
 		try {
-			parse(token);
+			parseToken(token);
 			return true;
-		} catch (JwtException e) {
+		} catch (JwtException | IllegalArgumentException e) {
 			return false;
 		}
 	}
 
+	private void cache(String hash, JwtClaims claims, long now) {
+		if (verifiedTokens.size() >= cacheSize) {
+			evict(now);
+		}
+		verifiedTokens.put(hash, claims);
+	}
+
+	// Frees a sixteenth of the cache in one bounded pass, expired tokens first,
+	// so a full cache costs one short scan per slice of misses, not one per miss
+	private void evict(long now) {
+		int target = Math.max(1, cacheSize / 16);
+		int removed = 0;
+		Iterator<JwtClaims> it = verifiedTokens.values().iterator();
+		for (int scanned = 0; it.hasNext() && removed < target && scanned < target * 4; scanned++) {
+			if (it.next().isExpired(now)) {
+				it.remove();
+				removed++;
+			}
+		}
+		it = verifiedTokens.values().iterator();
+		while (removed < target && it.hasNext()) {
+			it.next();
+			it.remove();
+			removed++;
+		}
+	}
+
+	int cachedTokens() {
+		return verifiedTokens.size();
+	}
+
 	private Jws<Claims> parse(String token) {
-		return Jwts.parserBuilder()
-				.setSigningKey(key)
-				.build()
-				.parseClaimsJws(token);
+		return parser.parseClaimsJws(token);
+	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 }
@@ -1,13 +0,0 @@
-package com.example.elearning.config;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
-@Configuration
-public class WebConfig implements WebMvcConfigurer{
-	@Override
-	public void addResourceHandlers(ResourceHandlerRegistry registry) {
-		registry
-		.addResourceHandler("/videos/**")
-		.addResourceLocations("file:uploads/videos/");
-	}
-}
@@ -1,18 +1,28 @@
 package com.example.elearning.controller;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.elearning.dto.request.CreateTeacherRequestDTO;
 import com.example.elearning.dto.response.AdminAnalyticsDTO;
 import com.example.elearning.dto.response.AdminUserResponseDTO;
 import com.example.elearning.dto.response.UserResponseDTO;
 import com.example.elearning.service.AdminService;
+import com.example.elearning.service.CourseArchiveImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -20,9 +30,35 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/admin")
 public class AdminController {
 	private final AdminService adminService;
+	private final CourseArchiveImportService archiveImportService;
+	private final ObjectMapper objectMapper = new ObjectMapper();
 
-	public AdminController(AdminService adminService) {
+	public AdminController(AdminService adminService, CourseArchiveImportService archiveImportService) {
 		this.adminService = adminService;
+		this.archiveImportService = archiveImportService;
+	}
+
+	/**
+	 * Imports a ZIP of course files and streams one JSON line per file as it
+	 * finishes, then a summary line.
+	 */
+	@PostMapping(value = "/courses/import-archive", consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+			produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> importCourseArchive(@RequestParam("file") MultipartFile file,
+			@RequestParam(required = false) Long teacherId) {
+		CourseArchiveImportService.Archive archive = archiveImportService.open(file, teacherId);
+		StreamingResponseBody body = out -> archiveImportService.run(archive, line -> writeLine(out, line));
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+	}
+
+	private void writeLine(OutputStream out, Object line) {
+		try {
+			out.write(objectMapper.writeValueAsBytes(line));
+			out.write('\n');
+			out.flush();
+		} catch (IOException e) {
+			throw new RuntimeException("Client disconnected", e);
+		}
 	}
 
 	@PostMapping("/create-teacher")
@@ -0,0 +1,32 @@
+package com.example.elearning.controller;
+
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.example.elearning.dto.response.AnnouncementJobResponseDTO;
+import com.example.elearning.service.AnnouncementService;
+
+@RestController
+@RequestMapping("/api")
+public class AnnouncementController {
+    private final AnnouncementService service;
+
+    public AnnouncementController(AnnouncementService service) {
+        this.service = service;
+    }
+
+    @GetMapping("/announcements/{jobId}")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public AnnouncementJobResponseDTO getJob(@PathVariable Long jobId) {
+        return service.getJob(jobId);
+    }
+
+    @GetMapping("/courses/{courseId}/announcements")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public List<AnnouncementJobResponseDTO> getJobsForCourse(@PathVariable Long courseId) {
+        return service.getJobsForCourse(courseId);
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.elearning.controller;
 
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,20 +15,31 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import com.example.elearning.dto.request.CreateCourseRequestDTO;
+import com.example.elearning.dto.response.CoursePageResponseDTO;
 import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.model.Course;
+import com.example.elearning.service.CourseExportService;
+import com.example.elearning.service.CourseImportService;
 import com.example.elearning.service.CourseService;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.MediaType;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/courses")
 public class CourseController {
     private final CourseService service;
+    private final CourseImportService importService;
+    private final CourseExportService exportService;
 
-    public CourseController(CourseService service) {
+    public CourseController(CourseService service, CourseImportService importService,
+            CourseExportService exportService) {
         this.service = service;
+        this.importService = importService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -37,7 +52,25 @@ public class CourseController {
     @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
     public CourseResponseDTO importCourse(@RequestParam("file") MultipartFile file) {
-        return service.importCourse(file);
+        return importService.importCourse(file);
+    }
+
+    /**
+     * Streams the course as a file that can be imported again.
+     */
+    @GetMapping(value = "/{id}/export", produces = MediaType.TEXT_PLAIN_VALUE)
+    @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportCourse(@PathVariable Long id) {
+        Course course = exportService.open(id);
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            exportService.export(course, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"course-" + id + ".txt\"")
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
     }
 
     @org.springframework.web.bind.annotation.PutMapping("/{id}")
@@ -57,4 +90,16 @@ public class CourseController {
     public List<CourseResponseDTO> getCourses() {
         return service.getAllCourses();
     }
+
+    @GetMapping(params = "limit")
+    public CoursePageResponseDTO getCoursePage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean paid,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Long teacherId,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return service.getCoursePage(limit, cursor, paid, minPrice, maxPrice, teacherId, sort);
+    }
 }
@@ -1,34 +1,58 @@
 package com.example.elearning.controller;
 
+import com.example.elearning.dto.response.NotificationPageResponseDTO;
 import com.example.elearning.model.Notification;
-import com.example.elearning.model.User;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 import com.example.elearning.service.NotificationService;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
     private final NotificationService service;
-    private final UserRepository userRepo;
+    private final CurrentUser currentUser;
 
-    public NotificationController(NotificationService service, UserRepository userRepo) {
+    public NotificationController(NotificationService service, CurrentUser currentUser) {
         this.service = service;
-        this.userRepo = userRepo;
+        this.currentUser = currentUser;
     }
 
     @GetMapping
     public List<Notification> getMyNotifications() {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-        return service.getUserNotifications(user);
+        return service.getUserNotifications(currentUser.get());
+    }
+
+    @GetMapping(params = "limit")
+    public NotificationPageResponseDTO getFeed(@RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return service.getFeed(currentUser.getId(), limit, cursor);
+    }
+
+    @GetMapping("/unread-count")
+    public Map<String, Long> getUnreadCount() {
+        return Map.of("count", service.getUnreadCount(currentUser.getId()));
+    }
+
+    // EventSource sends Last-Event-ID on reconnect; the query parameter covers
+    // clients that open a fresh stream after a page reload
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        return service.subscribe(currentUser.getId(), lastEventId != null ? lastEventId : since);
     }
 
     @PutMapping("/{id}/read")
     public void markAsRead(@PathVariable Long id) {
-        service.markAsRead(id);
+        service.markAsRead(id, currentUser.getId());
+    }
+
+    @PutMapping("/read-all")
+    public Map<String, Integer> markAllAsRead() {
+        return Map.of("updated", service.markAllAsRead(currentUser.getId()));
     }
 }
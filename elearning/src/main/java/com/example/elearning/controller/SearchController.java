@@ -0,0 +1,25 @@
+package com.example.elearning.controller;
+
+import java.util.List;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.example.elearning.dto.response.SearchResultDTO;
+import com.example.elearning.service.SearchService;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    private final SearchService service;
+
+    public SearchController(SearchService service) {
+        this.service = service;
+    }
+
+    @GetMapping
+    public List<SearchResultDTO> search(@RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit) {
+        return service.search(query, limit);
+    }
+}
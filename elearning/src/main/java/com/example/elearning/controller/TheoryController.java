@@ -11,7 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -55,13 +54,13 @@ public class TheoryController {
     @PreAuthorize("hasRole('TEACHER') or hasRole('ADMIN') or hasRole('STUDENT')")
     public ResponseEntity<Resource> downloadFile(@PathVariable Long id) {
         try {
-            Path filePath = theoryService.getSubmissionFile(id);
-            Resource resource = new UrlResource(filePath.toUri());
+            TheoryService.SubmissionFile file = theoryService.getSubmissionFile(id);
+            Resource resource = new UrlResource(file.path().toUri());
 
             if (resource.exists() && resource.isReadable()) {
                 return ResponseEntity.ok()
                         .header(HttpHeaders.CONTENT_DISPOSITION,
-                                "attachment; filename=\"" + filePath.getFileName().toString() + "\"")
+                                "attachment; filename=\"" + file.fileName() + "\"")
                         .body(resource);
             } else {
                 throw new RuntimeException("File not found or not readable");
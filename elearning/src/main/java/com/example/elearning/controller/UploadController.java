@@ -1,19 +1,61 @@
 package com.example.elearning.controller;
+import java.io.IOException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import com.example.elearning.dto.request.InitUploadRequestDTO;
+import com.example.elearning.dto.response.UploadSessionResponseDTO;
+import com.example.elearning.security.CurrentUser;
+import com.example.elearning.service.ChunkedUploadService;
 import com.example.elearning.service.FileUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 @RestController
 @RequestMapping("/api/upload")
 public class UploadController {
     private final FileUploadService uploadService;
-    public UploadController(FileUploadService uploadService) {
+    private final ChunkedUploadService chunkedUploadService;
+    private final CurrentUser currentUser;
+    public UploadController(FileUploadService uploadService, ChunkedUploadService chunkedUploadService,
+            CurrentUser currentUser) {
         this.uploadService = uploadService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.currentUser = currentUser;
     }
     @PostMapping("/video")
     public String uploadVideo(@RequestParam("file") MultipartFile file) {
         return uploadService.uploadVideo(file);
     }
+    @PostMapping("/video/sessions")
+    public UploadSessionResponseDTO startUpload(@Valid @RequestBody InitUploadRequestDTO request) {
+        return chunkedUploadService.init(currentUser.getId(), request);
+    }
+    @GetMapping("/video/sessions/{sessionId}")
+    public UploadSessionResponseDTO getUpload(@PathVariable String sessionId) {
+        return chunkedUploadService.status(sessionId, currentUser.getId());
+    }
+    // Raw chunk bytes, not multipart, so nothing is buffered before it reaches the file
+    @PutMapping(value = "/video/sessions/{sessionId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public UploadSessionResponseDTO uploadChunk(@PathVariable String sessionId, @RequestParam long offset,
+            @RequestHeader("X-Chunk-SHA256") String sha256, HttpServletRequest request) throws IOException {
+        return chunkedUploadService.writeChunk(sessionId, currentUser.getId(), offset, sha256,
+                request.getInputStream());
+    }
+    @PostMapping("/video/sessions/{sessionId}/complete")
+    public UploadSessionResponseDTO completeUpload(@PathVariable String sessionId) {
+        return chunkedUploadService.complete(sessionId, currentUser.getId());
+    }
+    @DeleteMapping("/video/sessions/{sessionId}")
+    public void abortUpload(@PathVariable String sessionId) {
+        chunkedUploadService.abort(sessionId, currentUser.getId());
+    }
 }
@@ -0,0 +1,180 @@
+package com.example.elearning.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import com.example.elearning.security.CurrentUser;
+import com.example.elearning.service.BlobStore;
+import com.example.elearning.service.VideoAccessCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves lesson videos with single byte-range support so players can seek
+ * without downloading the whole file. On Tomcat the body is handed to the
+ * connector's sendfile support; elsewhere it is copied with
+ * {@link FileChannel#transferTo}.
+ */
+@RestController
+public class VideoStreamController {
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private final VideoAccessCache accessCache;
+    private final CurrentUser currentUser;
+    private final BlobStore blobStore;
+    private final Path videoDir;
+    private final String cacheControl;
+
+    public VideoStreamController(VideoAccessCache accessCache, CurrentUser currentUser, BlobStore blobStore,
+            @Value("${file.upload-dir}") String uploadDir,
+            @Value("${video.cache-control:private, max-age=86400}") String cacheControl) {
+        this.accessCache = accessCache;
+        this.currentUser = currentUser;
+        this.blobStore = blobStore;
+        this.videoDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.cacheControl = cacheControl;
+    }
+
+    @GetMapping("/videos/{filename:.+}")
+    public void stream(@PathVariable String filename, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // Videos uploaded before the blob store keep their file in the upload dir
+        String hash = BlobStore.hashOfName(filename);
+        Path file = hash != null ? blobStore.path(hash) : videoDir.resolve(filename).normalize();
+        if (hash == null && !file.startsWith(videoDir)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        // Checked before the file so a 404 never tells an outsider which videos exist
+        if (!accessCache.canWatch(currentUser.getId(), currentUser.getRole(), "/videos/" + filename)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        if (!Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        String etag = "\"" + (hash != null ? hash
+                : Long.toHexString(length) + "-" + Long.toHexString(lastModified)) + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+                .map(Object::toString).orElse("video/mp4"));
+
+        // Spring matches ETag lists and weak tags, but honours "*" only for unsafe
+        // methods; on a GET it matches any current version, and the file exists
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && ifNoneMatch.trim().equals("*")) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // A stale If-Range means the client's cached part belongs to another version
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    /**
+     * Parses a single {@code bytes=} range. Returns {@code {start, end}},
+     * an empty array to fall back to the full body (multiple or malformed
+     * ranges), or {@code null} when the range cannot be satisfied.
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.elearning.dto.request;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+public class InitUploadRequestDTO {
+    @NotBlank
+    private String fileName;
+    @NotBlank
+    private String contentType;
+    @NotNull
+    @Positive
+    private Long size;
+    public String getFileName() {
+        return fileName;
+    }
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+    public String getContentType() {
+        return contentType;
+    }
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    public Long getSize() {
+        return size;
+    }
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
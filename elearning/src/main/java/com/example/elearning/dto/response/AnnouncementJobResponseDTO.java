@@ -0,0 +1,47 @@
+package com.example.elearning.dto.response;
+import java.time.LocalDateTime;
+public class AnnouncementJobResponseDTO {
+    private Long id;
+    private Long courseId;
+    private String status;
+    private long sentCount;
+    private long failedCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    public AnnouncementJobResponseDTO(Long id, Long courseId, String status, long sentCount, long failedCount,
+            LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime completedAt) {
+        this.id = id;
+        this.courseId = courseId;
+        this.status = status;
+        this.sentCount = sentCount;
+        this.failedCount = failedCount;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.completedAt = completedAt;
+    }
+    public Long getId() {
+        return id;
+    }
+    public Long getCourseId() {
+        return courseId;
+    }
+    public String getStatus() {
+        return status;
+    }
+    public long getSentCount() {
+        return sentCount;
+    }
+    public long getFailedCount() {
+        return failedCount;
+    }
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.elearning.dto.response;
+
+import java.util.List;
+
+public class CoursePageResponseDTO {
+	private List<CourseResponseDTO> items;
+	private String nextCursor;
+
+	public CoursePageResponseDTO(List<CourseResponseDTO> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<CourseResponseDTO> getItems() {
+		return items;
+	}
+
+	/**
+	 * Opaque token for the next page, or {@code null} on the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -1,5 +1,7 @@
 package com.example.elearning.dto.response;
 
+import java.time.LocalDateTime;
+
 public class CourseResponseDTO {
 	private Long id;
 	private String title;
@@ -23,7 +25,22 @@ public class CourseResponseDTO {
 		this.published = published;
 	}
 
+	public CourseResponseDTO(Long id, String title, String description, boolean paid, Double price,
+			String teacherName, Long lessonCount, Long studentCount, boolean published, LocalDateTime createdAt) {
+		this(id, title, description, paid, price, teacherName, lessonCount, studentCount, published);
+		this.createdAt = createdAt;
+	}
+
 	private boolean published;
+	private LocalDateTime createdAt;
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
 
 	public boolean isPublished() {
 		return published;
@@ -15,6 +15,12 @@ public class EnrollmentResponseDTO {
 		this.teacherName = teacherName;
 		this.progressPercentage = progressPercentage;
 	}
+	// Used by the dashboard projection query
+	public EnrollmentResponseDTO(Long courseId, String courseTitle, LocalDateTime enrolledAt, String teacherName,
+			long totalLessons, long completedLessons) {
+		this(courseId, courseTitle, enrolledAt, teacherName,
+				totalLessons == 0 ? 0 : (int) ((completedLessons * 100) / totalLessons));
+	}
 	public Long getCourseId() {
 		return courseId;
 	}
@@ -0,0 +1,30 @@
+package com.example.elearning.dto.response;
+
+import java.util.List;
+
+public class NotificationPageResponseDTO {
+	private List<NotificationResponseDTO> items;
+	private String nextCursor;
+	private long unreadCount;
+
+	public NotificationPageResponseDTO(List<NotificationResponseDTO> items, String nextCursor, long unreadCount) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+		this.unreadCount = unreadCount;
+	}
+
+	public List<NotificationResponseDTO> getItems() {
+		return items;
+	}
+
+	/**
+	 * Opaque token for the next page, or {@code null} on the last page.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
+	public long getUnreadCount() {
+		return unreadCount;
+	}
+}
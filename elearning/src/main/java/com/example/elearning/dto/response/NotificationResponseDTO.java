@@ -0,0 +1,37 @@
+package com.example.elearning.dto.response;
+import java.time.LocalDateTime;
+public class NotificationResponseDTO {
+    private Long id;
+    private String message;
+    private String type;
+    private boolean read;
+    private Long relatedEntityId;
+    private LocalDateTime createdAt;
+    public NotificationResponseDTO(Long id, String message, String type, boolean read, Long relatedEntityId,
+            LocalDateTime createdAt) {
+        this.id = id;
+        this.message = message;
+        this.type = type;
+        this.read = read;
+        this.relatedEntityId = relatedEntityId;
+        this.createdAt = createdAt;
+    }
+    public Long getId() {
+        return id;
+    }
+    public String getMessage() {
+        return message;
+    }
+    public String getType() {
+        return type;
+    }
+    public boolean isRead() {
+        return read;
+    }
+    public Long getRelatedEntityId() {
+        return relatedEntityId;
+    }
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.elearning.dto.response;
+public class SearchResultDTO {
+    private String type;
+    private Long id;
+    private Long courseId;
+    private String title;
+    private double score;
+    public SearchResultDTO(String type, Long id, Long courseId, String title, double score) {
+        this.type = type;
+        this.id = id;
+        this.courseId = courseId;
+        this.title = title;
+        this.score = score;
+    }
+    public String getType() {
+        return type;
+    }
+    public Long getId() {
+        return id;
+    }
+    public Long getCourseId() {
+        return courseId;
+    }
+    public String getTitle() {
+        return title;
+    }
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.elearning.dto.response;
+
+import java.util.List;
+
+public class UploadSessionResponseDTO {
+	private String sessionId;
+	private long size;
+	private int chunkSize;
+	private int totalChunks;
+	private List<Integer> missingChunks;
+	private String url;
+
+	public UploadSessionResponseDTO(String sessionId, long size, int chunkSize, int totalChunks,
+			List<Integer> missingChunks, String url) {
+		this.sessionId = sessionId;
+		this.size = size;
+		this.chunkSize = chunkSize;
+		this.totalChunks = totalChunks;
+		this.missingChunks = missingChunks;
+		this.url = url;
+	}
+
+	public String getSessionId() {
+		return sessionId;
+	}
+
+	public long getSize() {
+		return size;
+	}
+
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	public int getTotalChunks() {
+		return totalChunks;
+	}
+
+	/**
+	 * Chunk indexes still to be sent; chunk {@code i} starts at offset
+	 * {@code i * chunkSize}.
+	 */
+	public List<Integer> getMissingChunks() {
+		return missingChunks;
+	}
+
+	/**
+	 * Video URL once the upload is complete, otherwise {@code null}.
+	 */
+	public String getUrl() {
+		return url;
+	}
+}
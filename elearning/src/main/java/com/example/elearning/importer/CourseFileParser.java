@@ -0,0 +1,446 @@
+package com.example.elearning.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import com.example.elearning.model.TaskType;
+
+/**
+ * Streaming reader for the course import text format described in
+ * COURSE_IMPORT_FORMAT.md. Each section is validated and handed to the
+ * {@link Handler} as soon as it ends, so only one lesson or task is held
+ * in memory at a time. Problems are collected with their line numbers
+ * instead of stopping at the first one.
+ * <p>
+ * A file that starts its [COURSE] section with {@code Format: 2} has
+ * backslash escapes in its values, so text with line breaks, pipes or
+ * surrounding spaces survives; this is what {@link CourseFileWriter} writes.
+ */
+public class CourseFileParser {
+    public static final int MAX_ERRORS = 100;
+    public static final int FORMAT_ESCAPED = 2;
+
+    public record CourseSection(int line, String title, String description, boolean paid, double price,
+            boolean published) {
+    }
+
+    public record LessonSection(int line, String title, String videoUrl, int order, int day) {
+    }
+
+    public record TestCaseEntry(String input, String expectedOutput) {
+    }
+
+    public record QuestionEntry(String question, String optionA, String optionB, String optionC, String optionD,
+            String correctAnswer) {
+    }
+
+    public record TaskSection(int line, TaskType type, String title, String description, int day,
+            String starterCode, List<TestCaseEntry> testCases, List<QuestionEntry> questions) {
+
+        /**
+         * Rows this task turns into: itself plus its test cases or questions.
+         */
+        public int rowCount() {
+            return 1 + testCases.size() + questions.size();
+        }
+    }
+
+    public interface Handler {
+        void course(CourseSection course);
+
+        void lesson(LessonSection lesson);
+
+        void task(TaskSection task);
+    }
+
+    private enum Kind {
+        NONE, COURSE, LESSON, TASK
+    }
+
+    private final List<ImportError> errors = new ArrayList<>();
+    private int errorCount;
+    private boolean escaped;
+
+    // Section being read
+    private Kind kind = Kind.NONE;
+    private int sectionLine;
+    private int sectionProperties;
+    private boolean sectionValid;
+    private boolean courseSeen;
+    private String title;
+    private String description;
+    private String videoUrl;
+    private String starterCode;
+    private Boolean paid;
+    private Double price;
+    private Boolean published;
+    private Integer order;
+    private Integer day;
+    private TaskType type;
+    private List<TestCaseEntry> testCases;
+    private List<QuestionEntry> questions;
+    private String[] question;
+    private int questionLine;
+
+    public void parse(Reader in, Handler handler) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        String raw;
+        int lineNo = 0;
+        while ((raw = reader.readLine()) != null) {
+            lineNo++;
+            String line = raw.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            if (line.startsWith("[") && line.endsWith("]")) {
+                endSection(handler);
+                startSection(line.substring(1, line.length() - 1).trim().toUpperCase(Locale.ROOT), lineNo);
+                continue;
+            }
+            int colon = line.indexOf(':');
+            if (colon <= 0) {
+                error(lineNo, "Expected 'Key: Value'");
+                continue;
+            }
+            if (kind == Kind.NONE) {
+                error(lineNo, "Property outside of a [COURSE], [LESSON] or [TASK] section");
+                continue;
+            }
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+            if (key.equals("format")) {
+                format(value, lineNo);
+            } else if (!escaped || key.equals("testcase") || (value = unescape(value, lineNo)) != null) {
+                property(key, value, lineNo);
+            }
+            sectionProperties++;
+        }
+        endSection(handler);
+        if (!courseSeen) {
+            error(Math.max(1, lineNo), "File has no [COURSE] section");
+        }
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Up to {@link #MAX_ERRORS} errors, sorted by line.
+     */
+    public List<ImportError> getErrors() {
+        return errors.stream().sorted(Comparator.comparingInt(ImportError::line)).toList();
+    }
+
+    private void startSection(String name, int lineNo) {
+        sectionLine = lineNo;
+        sectionProperties = 0;
+        sectionValid = true;
+        title = null;
+        description = null;
+        videoUrl = null;
+        starterCode = null;
+        paid = null;
+        price = null;
+        published = null;
+        order = null;
+        day = null;
+        type = TaskType.CODING;
+        testCases = new ArrayList<>();
+        questions = new ArrayList<>();
+        question = null;
+        switch (name) {
+            case "COURSE" -> {
+                kind = Kind.COURSE;
+                if (courseSeen) {
+                    error(lineNo, "Only one [COURSE] section is allowed");
+                }
+                courseSeen = true;
+            }
+            case "LESSON" -> kind = Kind.LESSON;
+            case "TASK" -> kind = Kind.TASK;
+            default -> {
+                kind = Kind.NONE;
+                error(lineNo, "Unknown section [" + name + "]");
+                return;
+            }
+        }
+        if (kind != Kind.COURSE && !courseSeen) {
+            error(lineNo, "[COURSE] must come before lessons and tasks");
+        }
+    }
+
+    private void format(String value, int lineNo) {
+        if (kind != Kind.COURSE || sectionProperties > 0) {
+            error(lineNo, "Format must be the first property of [COURSE]");
+        } else if (value.equals("1") || value.equals(String.valueOf(FORMAT_ESCAPED))) {
+            escaped = value.equals(String.valueOf(FORMAT_ESCAPED));
+        } else {
+            error(lineNo, "Format must be 1 or " + FORMAT_ESCAPED);
+        }
+    }
+
+    private void property(String key, String value, int lineNo) {
+        switch (kind) {
+            case COURSE -> {
+                switch (key) {
+                    case "title" -> title = value;
+                    case "description" -> description = value;
+                    case "paid" -> paid = parseBoolean(value, lineNo);
+                    case "price" -> price = parseDouble(value, lineNo);
+                    case "published" -> published = parseBoolean(value, lineNo);
+                    default -> {
+                    }
+                }
+            }
+            case LESSON -> {
+                switch (key) {
+                    case "title" -> title = value;
+                    case "videourl" -> videoUrl = value;
+                    case "order" -> order = parseInt(value, lineNo);
+                    case "day" -> day = parseInt(value, lineNo);
+                    default -> {
+                    }
+                }
+            }
+            case TASK -> taskProperty(key, value, lineNo);
+            default -> {
+            }
+        }
+    }
+
+    private void taskProperty(String key, String value, int lineNo) {
+        switch (key) {
+            case "type" -> {
+                try {
+                    type = TaskType.valueOf(value.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    error(lineNo, "Type must be CODING, MCQ or THEORY");
+                }
+            }
+            case "title" -> title = value;
+            case "description" -> description = value;
+            case "day" -> day = parseInt(value, lineNo);
+            case "startercode" -> starterCode = value;
+            case "testcase" -> {
+                int pipe = escaped ? unescapedPipe(value) : value.indexOf('|');
+                if (pipe < 0) {
+                    error(lineNo, "TestCase must be 'input | expected_output'");
+                    return;
+                }
+                String input = value.substring(0, pipe).trim();
+                String expected = value.substring(pipe + 1).trim();
+                if (escaped) {
+                    input = unescape(input, lineNo);
+                    expected = unescape(expected, lineNo);
+                }
+                if (input != null && expected != null) {
+                    testCases.add(new TestCaseEntry(input, expected));
+                }
+            }
+            case "question" -> {
+                endQuestion();
+                question = new String[] { value, null, null, null, null, null };
+                questionLine = lineNo;
+            }
+            case "optiona", "optionb", "optionc", "optiond", "correctanswer" -> {
+                if (question == null) {
+                    error(lineNo, "Option or CorrectAnswer before any Question");
+                } else if (key.equals("correctanswer")) {
+                    // Format 2 is an exact copy of what is stored
+                    question[5] = escaped ? value : value.toUpperCase(Locale.ROOT);
+                } else {
+                    question[key.charAt(6) - 'a' + 1] = value;
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void endQuestion() {
+        if (question == null) {
+            return;
+        }
+        String[] q = question;
+        question = null;
+        if (q[1] == null || q[2] == null || q[3] == null || q[4] == null) {
+            error(questionLine, "Question needs OptionA, OptionB, OptionC and OptionD");
+        } else if (q[5] == null) {
+            error(questionLine, "Question needs a CorrectAnswer");
+        } else if (tooLong(q[1], 255) || tooLong(q[2], 255) || tooLong(q[3], 255) || tooLong(q[4], 255)) {
+            error(questionLine, "Options must be at most 255 characters");
+        } else {
+            questions.add(new QuestionEntry(q[0], q[1], q[2], q[3], q[4], q[5]));
+        }
+    }
+
+    private void endSection(Handler handler) {
+        Kind ended = kind;
+        kind = Kind.NONE;
+        switch (ended) {
+            case COURSE -> {
+                require(title, "Title", 150);
+                require(description, "Description", 500);
+                if (Boolean.TRUE.equals(paid) && price == null) {
+                    error(sectionLine, "Price is required for a paid course");
+                }
+                if (price != null && price < 0) {
+                    error(sectionLine, "Price cannot be negative");
+                }
+                if (sectionValid) {
+                    handler.course(new CourseSection(sectionLine, title, description, Boolean.TRUE.equals(paid),
+                            price != null ? price : 0.0, Boolean.TRUE.equals(published)));
+                }
+            }
+            case LESSON -> {
+                require(title, "Title", 150);
+                require(videoUrl, "VideoUrl", 255);
+                if (order == null) {
+                    error(sectionLine, "Lesson Order is required");
+                }
+                if (sectionValid) {
+                    handler.lesson(new LessonSection(sectionLine, title, videoUrl, order, day != null ? day : 1));
+                }
+            }
+            case TASK -> {
+                endQuestion();
+                // Any field may be left empty and filled in later, as before
+                if (tooLong(title, 255)) {
+                    error(sectionLine, "Title must be at most 255 characters");
+                }
+                if (sectionValid) {
+                    handler.task(new TaskSection(sectionLine, type, title, description, day != null ? day : 1,
+                            type == TaskType.CODING ? starterCode : null,
+                            type == TaskType.CODING ? List.copyOf(testCases) : List.of(),
+                            type == TaskType.MCQ ? List.copyOf(questions) : List.of()));
+                }
+            }
+            default -> {
+            }
+        }
+        testCases = null;
+        questions = null;
+    }
+
+    private void require(String value, String name, int maxLength) {
+        if (blank(value)) {
+            error(sectionLine, name + " is required");
+        } else if (tooLong(value, maxLength)) {
+            error(sectionLine, name + " must be at most " + maxLength + " characters");
+        }
+    }
+
+    private Boolean parseBoolean(String value, int lineNo) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        error(lineNo, "Expected true or false but found '" + value + "'");
+        return null;
+    }
+
+    private Integer parseInt(String value, int lineNo) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            error(lineNo, "Expected a whole number but found '" + value + "'");
+            return null;
+        }
+    }
+
+    private Double parseDouble(String value, int lineNo) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            error(lineNo, "Expected a number but found '" + value + "'");
+            return null;
+        }
+    }
+
+    /**
+     * Undoes {@link CourseFileWriter#escape}, or reports the line and
+     * returns null.
+     */
+    private String unescape(String value, int lineNo) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (++i == value.length()) {
+                error(lineNo, "Value ends with a lone backslash");
+                return null;
+            }
+            char e = value.charAt(i);
+            switch (e) {
+                case '\\', '|' -> sb.append(e);
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 's' -> sb.append(' ');
+                case 'u' -> {
+                    int code = i + 5 <= value.length() ? hex(value.substring(i + 1, i + 5)) : -1;
+                    if (code < 0) {
+                        error(lineNo, "Expected four hex digits after \\u");
+                        return null;
+                    }
+                    sb.append((char) code);
+                    i += 4;
+                }
+                default -> {
+                    error(lineNo, "Unknown escape '\\" + e + "'");
+                    return null;
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static int unescapedPipe(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '|') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int hex(String digits) {
+        return digits.chars().allMatch(ch -> Character.digit(ch, 16) >= 0) ? Integer.parseInt(digits, 16) : -1;
+    }
+
+    private void error(int lineNo, String message) {
+        sectionValid = false;
+        errorCount++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ImportError(lineNo, message));
+        }
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean tooLong(String value, int maxLength) {
+        return value != null && value.length() > maxLength;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.elearning.importer;
+
+import java.io.IOException;
+import java.io.Writer;
+import com.example.elearning.model.TaskType;
+
+/**
+ * Writes sections in the course import format, one at a time, so a course
+ * of any size can be streamed out. Output is always {@code Format: 2}:
+ * values are escaped so that {@link CourseFileParser} reads back exactly
+ * what was written.
+ */
+public class CourseFileWriter {
+    private final Writer out;
+
+    public CourseFileWriter(Writer out) {
+        this.out = out;
+    }
+
+    public void course(CourseFileParser.CourseSection course) throws IOException {
+        out.write("[COURSE]\n");
+        property("Format", String.valueOf(CourseFileParser.FORMAT_ESCAPED));
+        property("Title", course.title());
+        property("Description", course.description());
+        property("Paid", String.valueOf(course.paid()));
+        property("Price", String.valueOf(course.price()));
+        property("Published", String.valueOf(course.published()));
+    }
+
+    public void lesson(CourseFileParser.LessonSection lesson) throws IOException {
+        out.write("\n[LESSON]\n");
+        property("Title", lesson.title());
+        property("VideoUrl", lesson.videoUrl());
+        property("Order", String.valueOf(lesson.order()));
+        property("Day", String.valueOf(lesson.day()));
+    }
+
+    public void task(CourseFileParser.TaskSection task) throws IOException {
+        out.write("\n[TASK]\n");
+        property("Type", task.type().name());
+        property("Title", task.title());
+        property("Description", task.description());
+        property("Day", String.valueOf(task.day()));
+        if (task.type() == TaskType.CODING) {
+            property("StarterCode", task.starterCode());
+        }
+        for (CourseFileParser.TestCaseEntry tc : task.testCases()) {
+            out.write("TestCase: " + escape(tc.input()) + " | " + escape(tc.expectedOutput()) + "\n");
+        }
+        for (CourseFileParser.QuestionEntry q : task.questions()) {
+            property("Question", q.question());
+            property("OptionA", q.optionA());
+            property("OptionB", q.optionB());
+            property("OptionC", q.optionC());
+            property("OptionD", q.optionD());
+            property("CorrectAnswer", q.correctAnswer());
+        }
+    }
+
+    private void property(String key, String value) throws IOException {
+        if (value != null) {
+            out.write(key + ": " + escape(value) + "\n");
+        }
+    }
+
+    /**
+     * Escapes backslashes, pipes, line breaks, tabs and other control
+     * characters, and spaces at either end that the parser would trim.
+     */
+    static String escape(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '|' -> sb.append("\\|");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case ' ' -> sb.append(i < start || i >= end ? "\\s" : " ");
+                default -> {
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.elearning.importer;
+
+import java.util.List;
+
+/**
+ * Thrown when a course file fails validation; nothing has been written.
+ */
+public class CourseImportException extends RuntimeException {
+    private final List<ImportError> errors;
+
+    public CourseImportException(List<ImportError> errors, int errorCount) {
+        super("Course file has " + errorCount + (errorCount == 1 ? " error" : " errors"));
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<ImportError> getErrors() {
+        return errors;
+    }
+}
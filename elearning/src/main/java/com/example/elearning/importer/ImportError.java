@@ -0,0 +1,7 @@
+package com.example.elearning.importer;
+
+/**
+ * A problem in a course file; {@code line} is 1-based.
+ */
+public record ImportError(int line, String message) {
+}
@@ -5,17 +5,18 @@ import com.example.elearning.event.CourseEnrolledEvent;
 import com.example.elearning.event.PaymentSuccessEvent;
 import com.example.elearning.event.UserRegisteredEvent;
 import com.example.elearning.model.User;
-import com.example.elearning.service.EmailService;
+import com.example.elearning.service.EmailOutboxService;
 @Component
 public class EmailEventListener {
-    private final EmailService emailService;
-    public EmailEventListener(EmailService emailService) {
-        this.emailService = emailService;
+    // Events are published inside the business transaction; the outbox row commits with it
+    private final EmailOutboxService outbox;
+    public EmailEventListener(EmailOutboxService outbox) {
+        this.outbox = outbox;
     }
     @EventListener
     public void onRegistration(UserRegisteredEvent event) {
         User user = event.user();
-        emailService.send(
+        outbox.enqueue(
             user.getEmail(),
             "Welcome to E-Learning Platform",
             """
@@ -28,7 +29,7 @@ public class EmailEventListener {
     }
     @EventListener
     public void onEnrollment(CourseEnrolledEvent event) {
-        emailService.send(
+        outbox.enqueue(
             event.student().getEmail(),
             "Enrollment Confirmed",
             """
@@ -40,7 +41,7 @@ public class EmailEventListener {
     }
     @EventListener
     public void onPayment(PaymentSuccessEvent event) {
-        emailService.send(
+        outbox.enqueue(
             event.student().getEmail(),
             "Payment Successful",
             """
@@ -0,0 +1,125 @@
+package com.example.elearning.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A new-course announcement being fanned out to all students. The subject
+ * and body are rendered once when the job is created; {@code lastStudentId}
+ * is the checkpoint the job resumes from after a restart.
+ */
+@Entity
+@Table(name = "announcement_jobs")
+public class AnnouncementJob {
+    public static final String NAME_PLACEHOLDER = "{name}";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(nullable = false)
+    private Long courseId;
+    @Column(nullable = false)
+    private String subject;
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String bodyTemplate;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AnnouncementStatus status = AnnouncementStatus.RUNNING;
+    @Column(nullable = false)
+    private Long lastStudentId = 0L;
+    @Column(nullable = false)
+    private long sentCount;
+    @Column(nullable = false)
+    private long failedCount;
+    @Column(nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public void setSubject(String subject) {
+        this.subject = subject;
+    }
+
+    public String getBodyTemplate() {
+        return bodyTemplate;
+    }
+
+    public void setBodyTemplate(String bodyTemplate) {
+        this.bodyTemplate = bodyTemplate;
+    }
+
+    public AnnouncementStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AnnouncementStatus status) {
+        this.status = status;
+    }
+
+    public Long getLastStudentId() {
+        return lastStudentId;
+    }
+
+    public void setLastStudentId(Long lastStudentId) {
+        this.lastStudentId = lastStudentId;
+    }
+
+    public long getSentCount() {
+        return sentCount;
+    }
+
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+
+    public long getFailedCount() {
+        return failedCount;
+    }
+
+    public void setFailedCount(long failedCount) {
+        this.failedCount = failedCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.elearning.model;
+
+public enum AnnouncementStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -6,12 +6,13 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = @Index(name = "idx_courses_catalog", columnList = "published, created_at, id"))
 public class Course {
 	@jakarta.persistence.OneToMany(mappedBy = "course", cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
 	private java.util.List<Lesson> lessons = new java.util.ArrayList<>();
@@ -0,0 +1,8 @@
+package com.example.elearning.model;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
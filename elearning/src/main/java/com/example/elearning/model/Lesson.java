@@ -5,11 +5,12 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 @Entity
-@Table(name = "lessons")
+@Table(name = "lessons", indexes = @Index(name = "idx_lessons_video_url", columnList = "video_url"))
 public class Lesson {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = @Index(name = "idx_notifications_user_unread", columnList = "user_id, is_read, created_at"))
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +25,10 @@ public class Notification {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // Unread notifications merged into this row by the retention job; null when it stands alone
+    @Column(name = "collapsed_count")
+    private Integer collapsedCount;
+
     public Long getId() {
         return id;
     }
@@ -80,4 +84,12 @@ public class Notification {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Integer getCollapsedCount() {
+        return collapsedCount;
+    }
+
+    public void setCollapsedCount(Integer collapsedCount) {
+        this.collapsedCount = collapsedCount;
+    }
 }
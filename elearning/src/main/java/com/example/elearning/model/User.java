@@ -161,6 +161,8 @@ public class User {
 	}
 
 	private boolean passwordChangeRequired = false;
+	@Column(nullable = false)
+	private int tokenVersion = 0;
 
 	public boolean isPasswordChangeRequired() {
 		return passwordChangeRequired;
@@ -169,4 +171,12 @@ public class User {
 	public void setPasswordChangeRequired(boolean passwordChangeRequired) {
 		this.passwordChangeRequired = passwordChangeRequired;
 	}
+
+	public int getTokenVersion() {
+		return tokenVersion;
+	}
+
+	public void setTokenVersion(int tokenVersion) {
+		this.tokenVersion = tokenVersion;
+	}
 }
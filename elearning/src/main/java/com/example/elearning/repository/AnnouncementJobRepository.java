@@ -0,0 +1,12 @@
+package com.example.elearning.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import com.example.elearning.model.AnnouncementJob;
+import com.example.elearning.model.AnnouncementStatus;
+
+public interface AnnouncementJobRepository extends JpaRepository<AnnouncementJob, Long> {
+    List<AnnouncementJob> findByStatus(AnnouncementStatus status);
+
+    List<AnnouncementJob> findByCourseIdOrderByIdDesc(Long courseId);
+}
@@ -1,8 +1,56 @@
 package com.example.elearning.repository;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.example.elearning.dto.response.CourseResponseDTO;
 import com.example.elearning.model.Course;
 public interface CourseRepository extends JpaRepository<Course,Long> {
+	// Course card with teacher name and lesson/enrollment counts in a single round trip
+	String COURSE_CARD = "select new com.example.elearning.dto.response.CourseResponseDTO("
+			+ "c.id, c.title, c.description, c.paid, c.price, t.name, "
+			+ "(select count(l) from Lesson l where l.course = c), "
+			+ "(select count(e) from Enrollment e where e.course = c), "
+			+ "c.published, c.createdAt) "
+			+ "from Course c join c.teacher t ";
+
+	String CATALOG_FILTERS = "where c.published = true "
+			+ "and (:paid is null or c.paid = :paid) "
+			+ "and (:minPrice is null or c.price >= :minPrice) "
+			+ "and (:maxPrice is null or c.price <= :maxPrice) "
+			+ "and (:teacherId is null or t.id = :teacherId) ";
+
 	List<Course> findByPublishedTrue();
 	List<Course> findByTeacherId(Long teacherId);
+
+	@Query(COURSE_CARD + "where c.published = true")
+	List<CourseResponseDTO> findPublishedCourseCards();
+
+	@Query(COURSE_CARD + "where t.id = :teacherId")
+	List<CourseResponseDTO> findCourseCardsByTeacherId(@Param("teacherId") Long teacherId);
+
+	// Keyset pages over (createdAt, id); a null cursor starts from the first page
+	@Query(COURSE_CARD + CATALOG_FILTERS
+			+ "and (:cursorCreatedAt is null or c.createdAt < :cursorCreatedAt "
+			+ "or (c.createdAt = :cursorCreatedAt and c.id < :cursorId)) "
+			+ "order by c.createdAt desc, c.id desc")
+	List<CourseResponseDTO> findCatalogPageNewestFirst(@Param("paid") Boolean paid,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("teacherId") Long teacherId, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+			@Param("cursorId") Long cursorId, Pageable page);
+
+	@Query(COURSE_CARD + CATALOG_FILTERS
+			+ "and (:cursorCreatedAt is null or c.createdAt > :cursorCreatedAt "
+			+ "or (c.createdAt = :cursorCreatedAt and c.id > :cursorId)) "
+			+ "order by c.createdAt asc, c.id asc")
+	List<CourseResponseDTO> findCatalogPageOldestFirst(@Param("paid") Boolean paid,
+			@Param("minPrice") Double minPrice, @Param("maxPrice") Double maxPrice,
+			@Param("teacherId") Long teacherId, @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+			@Param("cursorId") Long cursorId, Pageable page);
+
+	// id, title, description, published for building the search index
+	@Query("select c.id, c.title, c.description, c.published from Course c")
+	List<Object[]> findSearchRows();
 }
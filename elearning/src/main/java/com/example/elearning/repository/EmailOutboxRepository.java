@@ -0,0 +1,37 @@
+package com.example.elearning.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.elearning.model.EmailOutbox;
+import com.example.elearning.model.EmailStatus;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    @Query("select o.id from EmailOutbox o where o.status = com.example.elearning.model.EmailStatus.PENDING "
+            + "and o.nextAttemptAt <= :now order by o.nextAttemptAt, o.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable page);
+
+    // Moves a row from PENDING to SENDING; returns 0 if someone else got it first
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox o set o.status = com.example.elearning.model.EmailStatus.SENDING, "
+            + "o.claimedAt = :now "
+            + "where o.id = :id and o.status = com.example.elearning.model.EmailStatus.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Returns rows claimed before the cutoff, or before claims were recorded, to PENDING
+    @Modifying
+    @Transactional
+    @Query("update EmailOutbox o set o.status = com.example.elearning.model.EmailStatus.PENDING, "
+            + "o.claimedAt = null "
+            + "where o.status = com.example.elearning.model.EmailStatus.SENDING "
+            + "and (o.claimedAt is null or o.claimedAt < :cutoff)")
+    int releaseAbandoned(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(EmailStatus status);
+}
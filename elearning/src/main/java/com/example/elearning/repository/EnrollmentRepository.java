@@ -2,6 +2,9 @@ package com.example.elearning.repository;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import com.example.elearning.dto.response.EnrollmentResponseDTO;
 import com.example.elearning.model.Enrollment;
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 	boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
@@ -9,4 +12,14 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 	Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
 	List<Enrollment> findByCourseId(Long courseId);
 	long countByCourseId(Long courseId);
+	@Query("select e.student.id from Enrollment e where e.course.id = :courseId")
+	List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+	// Course, teacher and lesson/progress counts for all of a student's enrollments in one round trip
+	@Query("select new com.example.elearning.dto.response.EnrollmentResponseDTO("
+			+ "c.id, c.title, e.enrolledAt, t.name, "
+			+ "(select count(l) from Lesson l where l.course = c), "
+			+ "(select count(p) from LessonProgress p where p.enrollment = e)) "
+			+ "from Enrollment e join e.course c join c.teacher t "
+			+ "where e.student.id = :studentId order by e.id")
+	List<EnrollmentResponseDTO> findDashboardByStudentId(@Param("studentId") Long studentId);
 }
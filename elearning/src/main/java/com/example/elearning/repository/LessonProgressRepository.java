@@ -1,9 +1,13 @@
 package com.example.elearning.repository;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.elearning.model.LessonProgress;
 public interface LessonProgressRepository extends JpaRepository<LessonProgress,Long> {
 	boolean existsByEnrollmentIdAndLessonId(Long enrollmentId,Long lessonId);
 	List<LessonProgress> findByEnrollmentId(Long enrollmentId);
 	long countByEnrollmentId(Long enrollmentId);
+	@Query("select p.lesson.id from LessonProgress p where p.enrollment.id = :enrollmentId")
+	List<Long> findLessonIdsByEnrollmentId(@Param("enrollmentId") Long enrollmentId);
 }
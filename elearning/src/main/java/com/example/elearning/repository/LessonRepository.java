@@ -1,7 +1,10 @@
 package com.example.elearning.repository;
 
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.elearning.model.Lesson;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
@@ -10,4 +13,28 @@ public interface LessonRepository extends JpaRepository<Lesson, Long> {
     List<Lesson> findByCourseId(Long courseId);
 
     long countByCourseId(Long courseId);
+
+    // id, title, course id for building the search index
+    @Query("select l.id, l.title, l.course.id from Lesson l")
+    List<Object[]> findSearchRows();
+
+    // id, title of one course's lessons for the search index
+    @Query("select l.id, l.title from Lesson l where l.course.id = :courseId")
+    List<Object[]> findSearchRowsByCourseId(@Param("courseId") Long courseId);
+
+    // id, day number in display order for the progress layout
+    @Query("select l.id, l.dayNumber from Lesson l where l.course.id = :courseId order by l.lessonOrder, l.id")
+    List<Object[]> findLayoutRows(@Param("courseId") Long courseId);
+
+    // course id, teacher id of every lesson playing this video
+    @Query("select c.id, c.teacher.id from Lesson l join l.course c where l.videoUrl = :videoUrl")
+    List<Object[]> findVideoOwners(@Param("videoUrl") String videoUrl);
+
+    // id, title, video url, order, day of the next export batch after the last id written
+    @Query("select l.id, l.title, l.videoUrl, l.lessonOrder, l.dayNumber from Lesson l "
+            + "where l.course.id = :courseId and l.id > :afterId order by l.id")
+    List<Object[]> findExportRows(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable page);
+
+    @Query("select l.videoUrl from Lesson l where l.videoUrl like '/videos/%'")
+    List<String> findBlobVideoUrls();
 }
@@ -2,8 +2,19 @@ package com.example.elearning.repository;
 
 import com.example.elearning.model.McqQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface McqQuestionRepository extends JpaRepository<McqQuestion, Long> {
     List<McqQuestion> findByTaskIdOrderByQuestionOrderAsc(Long taskId);
+
+    // question id, correct answer for building a task's answer key
+    @Query("select q.id, q.correctAnswer from McqQuestion q where q.task.id = :taskId")
+    List<Object[]> findAnswerRows(@Param("taskId") Long taskId);
+
+    // task id, question, options A-D, correct answer of the questions of an export batch
+    @Query("select q.task.id, q.question, q.optionA, q.optionB, q.optionC, q.optionD, q.correctAnswer "
+            + "from McqQuestion q where q.task.id in :taskIds order by q.task.id, q.questionOrder, q.id")
+    List<Object[]> findExportRows(@Param("taskIds") List<Long> taskIds);
 }
@@ -1,11 +1,40 @@
 package com.example.elearning.repository;
 
+import com.example.elearning.dto.response.NotificationResponseDTO;
 import com.example.elearning.model.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndIsReadFalseOrderByCreatedAtDesc(Long userId);
+
+    List<Notification> findByUserIdAndIdGreaterThanOrderByIdAsc(Long userId, Long id, Pageable pageable);
+
+    // Newest first, resumed after (cursorCreatedAt, cursorId)
+    @Query("select new com.example.elearning.dto.response.NotificationResponseDTO("
+            + "n.id, n.message, n.type, n.isRead, n.relatedEntityId, n.createdAt) "
+            + "from Notification n where n.user.id = :userId "
+            + "and (:cursorCreatedAt is null or n.createdAt < :cursorCreatedAt "
+            + "or (n.createdAt = :cursorCreatedAt and n.id < :cursorId)) "
+            + "order by n.createdAt desc, n.id desc")
+    List<NotificationResponseDTO> findFeedPage(@Param("userId") Long userId,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt, @Param("cursorId") Long cursorId,
+            Pageable page);
+
+    long countByUserIdAndIsReadFalse(Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.id = :id and n.user.id = :userId and n.isRead = false")
+    int markRead(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("update Notification n set n.isRead = true where n.user.id = :userId and n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
 }
@@ -3,11 +3,16 @@ import com.example.elearning.model.Task;
 import com.example.elearning.model.TaskCompletion;
 import com.example.elearning.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
 public interface TaskCompletionRepository extends JpaRepository<TaskCompletion, Long> {
     Optional<TaskCompletion> findByTaskAndUser(Task task, User user);
     boolean existsByTaskAndUser(Task task, User user);
     List<TaskCompletion> findByUser(User user);
     List<TaskCompletion> findByTaskId(Long taskId);
+    @Query("select tc.task.id from TaskCompletion tc where tc.user.id = :userId and tc.task.course.id = :courseId")
+    Set<Long> findCompletedTaskIds(@Param("userId") Long userId, @Param("courseId") Long courseId);
 }
@@ -1,7 +1,28 @@
 package com.example.elearning.repository;
 import com.example.elearning.model.Task;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByCourseId(Long courseId);
+
+    // Two bag collections cannot be join fetched together; run these back to back
+    // in one persistence context to initialize both without per-task lazy loads
+    @Query("select t from Task t left join fetch t.testCases where t.course.id = :courseId order by t.id")
+    List<Task> findByCourseIdWithTestCases(@Param("courseId") Long courseId);
+
+    @Query("select t from Task t left join fetch t.mcqQuestions where t.course.id = :courseId")
+    List<Task> findByCourseIdWithMcqQuestions(@Param("courseId") Long courseId);
+
+    // id, type, title, description, day, starter code of the next export batch after the last id written
+    @Query("select t.id, t.taskType, t.title, t.description, t.dayNumber, t.starterCode from Task t "
+            + "where t.course.id = :courseId and t.id > :afterId order by t.id")
+    List<Object[]> findExportRows(@Param("courseId") Long courseId, @Param("afterId") Long afterId, Pageable page);
+
+    // task id, input, expected output of the test cases of an export batch
+    @Query("select tc.task.id, tc.input, tc.expectedOutput from TestCase tc where tc.task.id in :taskIds "
+            + "order by tc.task.id, tc.id")
+    List<Object[]> findTestCaseRows(@Param("taskIds") List<Long> taskIds);
 }
@@ -2,6 +2,7 @@ package com.example.elearning.repository;
 
 import com.example.elearning.model.TheorySubmission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +10,7 @@ public interface TheorySubmissionRepository extends JpaRepository<TheorySubmissi
     Optional<TheorySubmission> findByTaskIdAndStudentId(Long taskId, Long studentId);
 
     List<TheorySubmission> findByTaskId(Long taskId);
+
+    @Query("select s.fileUrl from TheorySubmission s where s.fileUrl like 'blob:%'")
+    List<String> findBlobFileUrls();
 }
@@ -1,6 +1,9 @@
 package com.example.elearning.repository;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import com.example.elearning.model.User;
 public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmail(String email);
@@ -8,4 +11,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	Optional<User> findByEmailVerificationToken(String token);
 	Optional<User> findByPasswordResetToken(String token);
 	java.util.List<User> findByRole(com.example.elearning.model.Role role);
+	// id, name, email of users with the role after the given id, for keyset paging
+	@Query("select u.id, u.name, u.email from User u where u.role = :role and u.id > :afterId order by u.id")
+	java.util.List<Object[]> findRecipientsAfter(@Param("role") com.example.elearning.model.Role role,
+			@Param("afterId") Long afterId, Pageable page);
 }
@@ -0,0 +1,322 @@
+package com.example.elearning.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index with prefix matching and BM25 ranking. Documents
+ * are identified by {@code K} and carry a stored value {@code V} that is
+ * handed back with each hit. Title terms count twice towards term frequency.
+ * Safe for concurrent readers with occasional writers.
+ */
+public class InvertedIndex<K, V> {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_WEIGHT = 2;
+    // Upper bound on the terms a single prefix may expand to
+    private static final int MAX_PREFIX_EXPANSION = 64;
+    private static final double PREFIX_BOOST = 0.7;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Posting> postings = new TreeMap<>();
+    private final Map<K, Integer> ordinals = new HashMap<>();
+    // Indexed by ordinal; freed slots are null and reused
+    private final List<Doc<K, V>> docs = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    // Document lengths by ordinal, kept apart from docs for a tight scoring loop
+    private int[] lengths = new int[16];
+    private long totalLength;
+    // Score accumulators reused across queries; grows to the peak query concurrency
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private record Doc<K, V>(K key, V value, int length, Map<String, Integer> terms) {
+    }
+
+    public record Hit<V>(V value, double score) {
+    }
+
+    /**
+     * Parallel arrays of (ordinal, term frequency); primitive so a query over
+     * a common term does not box every entry.
+     */
+    private static final class Posting {
+        int[] ordinals = new int[4];
+        int[] freqs = new int[4];
+        int size;
+
+        void add(int ordinal, int freq) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            ordinals[size] = ordinal;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            for (int i = 0; i < size; i++) {
+                if (ordinals[i] == ordinal) {
+                    size--;
+                    ordinals[i] = ordinals[size];
+                    freqs[i] = freqs[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Scratch {
+        double[] scores = new double[0];
+        int[] touched = new int[16];
+        int touchedCount;
+
+        void ensure(int capacity) {
+            if (scores.length < capacity) {
+                scores = new double[capacity];
+            }
+        }
+
+        void add(int ordinal, double score) {
+            if (scores[ordinal] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                }
+                touched[touchedCount++] = ordinal;
+            }
+            scores[ordinal] += score;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+
+    /**
+     * Adds the document, replacing any previous version with the same key.
+     */
+    public void put(K key, V value, String title, String body) {
+        Map<String, Integer> terms = new HashMap<>();
+        int length = 0;
+        for (String term : tokenize(title)) {
+            terms.merge(term, TITLE_WEIGHT, Integer::sum);
+            length += TITLE_WEIGHT;
+        }
+        for (String term : tokenize(body)) {
+            terms.merge(term, 1, Integer::sum);
+            length++;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            Doc<K, V> doc = new Doc<>(key, value, length, terms);
+            int ordinal;
+            if (freeOrdinals.isEmpty()) {
+                ordinal = docs.size();
+                docs.add(doc);
+            } else {
+                ordinal = freeOrdinals.pop();
+                docs.set(ordinal, doc);
+            }
+            if (ordinal >= lengths.length) {
+                lengths = Arrays.copyOf(lengths, Math.max(lengths.length * 2, ordinal + 1));
+            }
+            lengths[ordinal] = length;
+            ordinals.put(key, ordinal);
+            totalLength += length;
+            for (Map.Entry<String, Integer> e : terms.entrySet()) {
+                postings.computeIfAbsent(e.getKey(), t -> new Posting()).add(ordinal, e.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document whose stored value matches. This is a full scan
+     * and is meant for rare bulk removals such as deleting a course.
+     */
+    public void removeIf(Predicate<V> predicate) {
+        lock.writeLock().lock();
+        try {
+            List<K> doomed = new ArrayList<>();
+            for (Doc<K, V> doc : docs) {
+                if (doc != null && predicate.test(doc.value())) {
+                    doomed.add(doc.key());
+                }
+            }
+            doomed.forEach(this::removeLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            docs.clear();
+            freeOrdinals.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks documents against the query. Every query term matches exactly;
+     * the last one also matches as a prefix so partially typed words still
+     * find results. Only values accepted by {@code filter} are returned.
+     */
+    public List<Hit<V>> search(String query, int limit, Predicate<V> filter) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int n = ordinals.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / n;
+            Scratch scores = scratchPool.poll();
+            if (scores == null) {
+                scores = new Scratch();
+            }
+            scores.ensure(docs.size());
+            try {
+                return rank(terms, limit, filter, n, avgLength, scores);
+            } finally {
+                scores.reset();
+                scratchPool.offer(scores);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit<V>> rank(List<String> terms, int limit, Predicate<V> filter, int n, double avgLength,
+            Scratch scores) {
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            score(postings.get(term), 1.0, n, avgLength, scores);
+            if (i == terms.size() - 1) {
+                int expanded = 0;
+                for (Map.Entry<String, Posting> e : postings.tailMap(term, false).entrySet()) {
+                    if (!e.getKey().startsWith(term) || expanded++ >= MAX_PREFIX_EXPANSION) {
+                        break;
+                    }
+                    score(e.getValue(), PREFIX_BOOST, n, avgLength, scores);
+                }
+            }
+        }
+        PriorityQueue<Hit<V>> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+        for (int t = 0; t < scores.touchedCount; t++) {
+            int ordinal = scores.touched[t];
+            double score = scores.scores[ordinal];
+            if (score <= 0 || (top.size() == limit && top.peek().score() >= score)) {
+                continue;
+            }
+            V value = docs.get(ordinal).value();
+            if (!filter.test(value)) {
+                continue;
+            }
+            if (top.size() == limit) {
+                top.poll();
+            }
+            top.add(new Hit<>(value, score));
+        }
+        List<Hit<V>> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(Hit<V>::score).reversed());
+        return hits;
+    }
+
+    private void score(Posting posting, double boost, int n, double avgLength, Scratch scores) {
+        if (posting == null || posting.size == 0) {
+            return;
+        }
+        double weight = boost * Math.log(1 + (n - posting.size + 0.5) / (posting.size + 0.5));
+        double lengthFactor = K1 * B / avgLength;
+        double constant = K1 * (1 - B);
+        for (int i = 0; i < posting.size; i++) {
+            int ordinal = posting.ordinals[i];
+            int tf = posting.freqs[i];
+            scores.add(ordinal, weight * tf * (K1 + 1) / (tf + constant + lengthFactor * lengths[ordinal]));
+        }
+    }
+
+    private void removeLocked(K key) {
+        Integer ordinal = ordinals.remove(key);
+        if (ordinal == null) {
+            return;
+        }
+        Doc<K, V> doc = docs.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+        totalLength -= doc.length();
+        for (String term : doc.terms().keySet()) {
+            Posting posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(ordinal);
+                if (posting.size == 0) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean word = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.elearning.security;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import com.example.elearning.model.Role;
+
+/**
+ * Principal built from verified JWT claims, so authenticated requests do not
+ * need to load the {@code users} row just to know who is calling.
+ */
+public class AuthenticatedUser implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final Role role;
+    private final boolean enabled;
+    private final int tokenVersion;
+
+    public AuthenticatedUser(Long id, String email, Role role, boolean enabled, int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.role = role;
+        this.enabled = enabled;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.elearning.security;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The caller of the current request. The {@link User} row is loaded at most
+ * once per request; the id and role come straight from the token when the
+ * request was authenticated from JWT claims.
+ */
+@Component
+@RequestScope
+public class CurrentUser {
+    private final UserRepository userRepo;
+    private final MeterRegistry meterRegistry;
+    private User user;
+    private int lookups;
+    private int reuses;
+
+    public CurrentUser(UserRepository userRepo, MeterRegistry meterRegistry) {
+        this.userRepo = userRepo;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public User get() {
+        if (user != null) {
+            reuses++;
+            return user;
+        }
+        Authentication auth = authentication();
+        if (auth == null) {
+            throw new RuntimeException("User not found");
+        }
+        lookups++;
+        if (auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            user = userRepo.findById(principal.getId())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        } else {
+            user = userRepo.findByEmail(auth.getName())
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+        }
+        return user;
+    }
+
+    public Long getId() {
+        AuthenticatedUser principal = principal();
+        return principal != null ? principal.getId() : get().getId();
+    }
+
+    public Role getRole() {
+        AuthenticatedUser principal = principal();
+        return principal != null ? principal.getRole() : get().getRole();
+    }
+
+    public boolean isAuthenticated() {
+        return authentication() != null;
+    }
+
+    private AuthenticatedUser principal() {
+        Authentication auth = authentication();
+        if (auth != null && auth.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+        return null;
+    }
+
+    private Authentication authentication() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth;
+    }
+
+    @PreDestroy
+    void recordLookups() {
+        if (lookups == 0 && reuses == 0) {
+            return;
+        }
+        meterRegistry.summary("elearning.user.lookups").record(lookups);
+        meterRegistry.counter("elearning.user.lookups.reused").increment(reuses);
+    }
+}
@@ -1,13 +1,17 @@
 package com.example.elearning.security;
 
 import java.io.IOException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.example.elearning.config.JwtClaims;
 import com.example.elearning.config.JwtService;
+import com.example.elearning.model.Role;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -17,10 +21,16 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final CustomUserDetailsService uds;
+    private final TokenRevocationCache revocationCache;
 
-    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService uds) {
+    @Value("${jwt.claims-auth:true}")
+    private boolean claimsAuth;
+
+    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService uds,
+            TokenRevocationCache revocationCache) {
         this.jwtService = jwtService;
         this.uds = uds;
+        this.revocationCache = revocationCache;
     }
 
     @Override
@@ -31,23 +41,54 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtService.validate(token)) {
-                String email = jwtService.extractEmail(token);
-                UserDetails userDetails = uds.loadUserByUsername(email);
+            JwtClaims claims;
+            try {
+                claims = jwtService.parseToken(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                claims = null;
+            }
+            if (claims != null) {
+                UserDetails userDetails;
+                if (claimsAuth && claims.userId() != null) {
+                    userDetails = fromClaims(claims);
+                } else {
+                    // Tokens issued before claims-only auth carry no user id
+                    userDetails = uds.loadUserByUsername(claims.email());
+                }
 
-                if (!userDetails.isEnabled()) {
+                if (userDetails != null && !userDetails.isEnabled()) {
                     response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                     response.getWriter().write("User is blocked");
                     return;
                 }
 
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                auth.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    auth.setDetails(
+                            new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Builds the principal from the token alone. Returns {@code null} when the
+     * token has been superseded by a role change or the user was deleted.
+     */
+    private UserDetails fromClaims(JwtClaims claims) {
+        TokenRevocationCache.TokenState state = revocationCache.get(claims.userId());
+        if (state == null) {
+            return null;
+        }
+        Integer version = claims.tokenVersion();
+        Role role = Role.valueOf(claims.role());
+        if (version == null || version != state.tokenVersion() || role != state.role()) {
+            return null;
+        }
+        return new AuthenticatedUser(claims.userId(), claims.email(), role,
+                state.enabled() && !Boolean.FALSE.equals(claims.enabled()), version);
+    }
 }
@@ -0,0 +1,77 @@
+package com.example.elearning.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.elearning.model.Role;
+import com.example.elearning.repository.UserRepository;
+import com.example.elearning.service.AfterCommit;
+
+/**
+ * Small cache of the per-user state that can revoke an otherwise valid token:
+ * the blocked flag, the current role and the token version. Each user costs
+ * one lookup until an admin change invalidates the entry; entries also expire
+ * after a short TTL so changes made elsewhere are picked up.
+ */
+@Component
+public class TokenRevocationCache {
+    private static final int MAX_ENTRIES = 10_000;
+    private static final TokenState MISSING = new TokenState(-1, false, null);
+
+    private final UserRepository userRepo;
+    private final long ttlMillis;
+    private final Map<Long, Entry> states = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a load that raced with one is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TokenRevocationCache(UserRepository userRepo,
+            @Value("${jwt.revocation-cache-ttl-ms:30000}") long ttlMillis) {
+        this.userRepo = userRepo;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public record TokenState(int tokenVersion, boolean enabled, Role role) {
+    }
+
+    private record Entry(TokenState state, long expiresAt) {
+    }
+
+    /**
+     * Returns the current state of the user, or {@code null} if the user no
+     * longer exists.
+     */
+    public TokenState get(Long userId) {
+        long now = System.currentTimeMillis();
+        Entry entry = states.get(userId);
+        if (entry == null || entry.expiresAt() <= now) {
+            long stamp = invalidations.get();
+            TokenState state = userRepo.findById(userId)
+                    .map(u -> new TokenState(u.getTokenVersion(), u.isEnabled(), u.getRole()))
+                    .orElse(MISSING);
+            entry = new Entry(state, now + ttlMillis);
+            if (invalidations.get() == stamp) {
+                if (states.size() >= MAX_ENTRIES) {
+                    states.clear();
+                }
+                states.put(userId, entry);
+                // An invalidation between the check and the put must still win
+                if (invalidations.get() != stamp) {
+                    states.remove(userId, entry);
+                }
+            }
+        }
+        return entry.state() == MISSING ? null : entry.state();
+    }
+
+    /**
+     * Drops the user's state once the current transaction commits.
+     */
+    public void invalidate(Long userId) {
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            states.remove(userId);
+        });
+    }
+}
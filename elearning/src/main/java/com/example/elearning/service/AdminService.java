@@ -24,6 +24,7 @@ import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.EnrollmentRepository;
 import com.example.elearning.repository.PaymentRepository;
 import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.TokenRevocationCache;
 
 @Service
 public class AdminService {
@@ -32,14 +33,16 @@ public class AdminService {
 	private final PaymentRepository paymentRepo;
 	private final EnrollmentRepository enrollmentRepo;
 	private final PasswordEncoder encoder;
+	private final TokenRevocationCache revocationCache;
 
 	public AdminService(UserRepository userRepo, CourseRepository courseRepo, PaymentRepository paymentRepo,
-			EnrollmentRepository enrollmentRepo, PasswordEncoder encoder) {
+			EnrollmentRepository enrollmentRepo, PasswordEncoder encoder, TokenRevocationCache revocationCache) {
 		this.userRepo = userRepo;
 		this.courseRepo = courseRepo;
 		this.paymentRepo = paymentRepo;
 		this.enrollmentRepo = enrollmentRepo;
 		this.encoder = encoder;
+		this.revocationCache = revocationCache;
 	}
 
 	public UserResponseDTO createTeacher(CreateTeacherRequestDTO dto) {
@@ -58,18 +61,23 @@ public class AdminService {
 
 	public void deleteUser(Long id) {
 		userRepo.deleteById(id);
+		revocationCache.invalidate(id);
 	}
 
 	public void updateUserRole(Long id, String roleName) {
 		User user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
 		user.setRole(Role.valueOf(roleName));
+		// Tokens issued with the old role must no longer authenticate
+		user.setTokenVersion(user.getTokenVersion() + 1);
 		userRepo.save(user);
+		revocationCache.invalidate(id);
 	}
 
 	public void toggleUserBlockStatus(Long id) {
 		User user = userRepo.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
 		user.setEnabled(!user.isEnabled());
 		userRepo.save(user);
+		revocationCache.invalidate(id);
 	}
 
 	public List<AdminUserResponseDTO> getAllUsers() {
@@ -0,0 +1,188 @@
+package com.example.elearning.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import com.example.elearning.dto.response.AnnouncementJobResponseDTO;
+import com.example.elearning.model.AnnouncementJob;
+import com.example.elearning.model.AnnouncementStatus;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Role;
+import com.example.elearning.repository.AnnouncementJobRepository;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans a new-course announcement out to every student. Students are read in
+ * keyset pages, each page is batch-sent on a bounded pool and the job checkpoints
+ * the last student id after every page, so a restart resumes where it
+ * stopped (at worst re-sending one page).
+ */
+@Service
+public class AnnouncementService {
+    private final AnnouncementJobRepository jobRepo;
+    private final UserRepository userRepo;
+    private final CourseRepository courseRepo;
+    private final EmailService emailService;
+    private final CurrentUser currentUser;
+    private final int pageSize;
+    private final int sendConcurrency;
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "announcement-job");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ExecutorService senders;
+    private volatile boolean stopping;
+
+    public AnnouncementService(AnnouncementJobRepository jobRepo, UserRepository userRepo,
+            CourseRepository courseRepo, EmailService emailService, CurrentUser currentUser,
+            @Value("${announcement.page-size:500}") int pageSize,
+            @Value("${announcement.send-concurrency:8}") int sendConcurrency) {
+        this.jobRepo = jobRepo;
+        this.userRepo = userRepo;
+        this.courseRepo = courseRepo;
+        this.emailService = emailService;
+        this.currentUser = currentUser;
+        this.pageSize = pageSize;
+        this.sendConcurrency = sendConcurrency;
+        this.senders = Executors.newFixedThreadPool(sendConcurrency, r -> {
+            Thread t = new Thread(r, "announcement-sender");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public AnnouncementJob announceCourse(Course course) {
+        AnnouncementJob job = new AnnouncementJob();
+        job.setCourseId(course.getId());
+        job.setSubject("New Course Alert: " + course.getTitle());
+        job.setBodyTemplate("Hello " + AnnouncementJob.NAME_PLACEHOLDER + ",\n\nA new course '" + course.getTitle()
+                + "' has been published by " + course.getTeacher().getName() + ".\n\nDescription: "
+                + course.getDescription() + "\n\nCheck it out on the platform!");
+        AnnouncementJob saved = jobRepo.save(job);
+        AfterCommit.run(() -> coordinator.execute(() -> run(saved.getId())));
+        return saved;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedJobs() {
+        for (AnnouncementJob job : jobRepo.findByStatus(AnnouncementStatus.RUNNING)) {
+            System.out.println("Resuming announcement job " + job.getId() + " after student " + job.getLastStudentId());
+            coordinator.execute(() -> run(job.getId()));
+        }
+    }
+
+    public AnnouncementJobResponseDTO getJob(Long jobId) {
+        AnnouncementJob job = jobRepo.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("Announcement job not found"));
+        checkCourseAccess(job.getCourseId());
+        return mapToDTO(job);
+    }
+
+    public List<AnnouncementJobResponseDTO> getJobsForCourse(Long courseId) {
+        checkCourseAccess(courseId);
+        return jobRepo.findByCourseIdOrderByIdDesc(courseId).stream().map(this::mapToDTO).toList();
+    }
+
+    void run(Long jobId) {
+        AnnouncementJob job = jobRepo.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != AnnouncementStatus.RUNNING) {
+            return;
+        }
+        String subject = job.getSubject();
+        String template = job.getBodyTemplate();
+        int at = template.indexOf(AnnouncementJob.NAME_PLACEHOLDER);
+        String prefix = at < 0 ? template : template.substring(0, at);
+        String suffix = at < 0 ? "" : template.substring(at + AnnouncementJob.NAME_PLACEHOLDER.length());
+        try {
+            while (!stopping) {
+                List<Object[]> page = userRepo.findRecipientsAfter(Role.STUDENT, job.getLastStudentId(),
+                        PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    job.setStatus(AnnouncementStatus.COMPLETED);
+                    job.setCompletedAt(LocalDateTime.now());
+                    break;
+                }
+                List<SimpleMailMessage> messages = new ArrayList<>(page.size());
+                for (Object[] row : page) {
+                    SimpleMailMessage message = new SimpleMailMessage();
+                    message.setTo((String) row[2]);
+                    message.setSubject(subject);
+                    message.setText(at < 0 ? prefix : prefix + row[1] + suffix);
+                    messages.add(message);
+                }
+                // One sendAll per chunk, so each sender reuses a single connection for its share
+                int chunk = (messages.size() + sendConcurrency - 1) / sendConcurrency;
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int from = 0; from < messages.size(); from += chunk) {
+                    List<SimpleMailMessage> slice = messages.subList(from, Math.min(from + chunk, messages.size()));
+                    results.add(senders.submit(() -> {
+                        List<SimpleMailMessage> failed = emailService.sendAll(slice);
+                        failed.forEach(m -> System.err.println("Failed to send email to " + m.getTo()[0]));
+                        return failed.size();
+                    }));
+                }
+                long failed = 0;
+                for (Future<Integer> result : results) {
+                    failed += result.get();
+                }
+                long sent = page.size() - failed;
+                job.setLastStudentId((Long) page.get(page.size() - 1)[0]);
+                job.setSentCount(job.getSentCount() + sent);
+                job.setFailedCount(job.getFailedCount() + failed);
+                job.setUpdatedAt(LocalDateTime.now());
+                job = jobRepo.save(job);
+            }
+        } catch (InterruptedException e) {
+            // Shutting down; the job stays RUNNING and resumes from its checkpoint
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException | RuntimeException e) {
+            job.setStatus(AnnouncementStatus.FAILED);
+            e.printStackTrace();
+        }
+        if (job.getStatus() != AnnouncementStatus.RUNNING) {
+            job.setUpdatedAt(LocalDateTime.now());
+            jobRepo.save(job);
+        }
+    }
+
+    private void checkCourseAccess(Long courseId) {
+        if (currentUser.getRole() == Role.ADMIN) {
+            return;
+        }
+        Course course = courseRepo.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        if (!course.getTeacher().getId().equals(currentUser.getId())) {
+            throw new RuntimeException("Not authorized to view announcements for this course");
+        }
+    }
+
+    private AnnouncementJobResponseDTO mapToDTO(AnnouncementJob job) {
+        return new AnnouncementJobResponseDTO(job.getId(), job.getCourseId(), job.getStatus().name(),
+                job.getSentCount(), job.getFailedCount(), job.getCreatedAt(), job.getUpdatedAt(),
+                job.getCompletedAt());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stopping = true;
+        coordinator.shutdownNow();
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
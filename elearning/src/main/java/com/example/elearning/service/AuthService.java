@@ -6,6 +6,7 @@ import java.time.temporal.ChronoUnit;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.elearning.config.JwtService;
 import com.example.elearning.dto.request.LoginRequestDTO;
 import com.example.elearning.dto.request.RegisterRequestDTO;
@@ -32,6 +33,7 @@ public class AuthService {
 		this.publisher = publisher;
 	}
 
+	@Transactional
 	public UserResponseDTO register(RegisterRequestDTO dto) {
 		if (repo.existsByEmail(dto.getEmail())) {
 			throw new RuntimeException("Email already exists");
@@ -73,7 +75,7 @@ public class AuthService {
 		user.setLastLoginDate(now);
 		user = repo.save(user);
 
-		String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
+		String token = jwtService.generateToken(user);
 		return new AuthResponseDTO(token, UserMapper.toDTO(user), user.isPasswordChangeRequired());
 	}
 }
@@ -0,0 +1,95 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.repository.TheorySubmissionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mark and sweep for {@link BlobStore}. References are counted from
+ * {@code Lesson.videoUrl} and {@code TheorySubmission.fileUrl}; blobs with
+ * none are deleted once they are older than the grace period, which covers
+ * uploads whose lesson or submission has not been saved yet.
+ */
+@Component
+public class BlobGarbageCollector {
+    private final BlobStore store;
+    private final LessonRepository lessonRepo;
+    private final TheorySubmissionRepository submissionRepo;
+    private final long graceMs;
+    private final Counter reclaimed;
+    private final Counter reclaimedBytes;
+
+    public BlobGarbageCollector(BlobStore store, LessonRepository lessonRepo,
+            TheorySubmissionRepository submissionRepo, MeterRegistry meterRegistry,
+            @Value("${blob.gc-grace-ms:86400000}") long graceMs) {
+        this.store = store;
+        this.lessonRepo = lessonRepo;
+        this.submissionRepo = submissionRepo;
+        this.graceMs = graceMs;
+        this.reclaimed = meterRegistry.counter("elearning.blobs.reclaimed");
+        this.reclaimedBytes = meterRegistry.counter("elearning.blobs.reclaimed.bytes");
+    }
+
+    public Map<String, Integer> referenceCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        Stream.concat(lessonRepo.findBlobVideoUrls().stream(), submissionRepo.findBlobFileUrls().stream())
+                .map(BlobStore::hashOf)
+                .filter(hash -> hash != null)
+                .forEach(hash -> counts.merge(hash, 1, Integer::sum));
+        return counts;
+    }
+
+    @Scheduled(cron = "${blob.gc-cron:0 0 4 * * *}")
+    public void run() {
+        try {
+            int deleted = collect();
+            if (deleted > 0) {
+                System.out.println("Removed " + deleted + " unreferenced blobs");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Blob garbage collection failed: " + e.getMessage());
+        }
+    }
+
+    int collect() throws IOException {
+        Map<String, Integer> counts = referenceCounts();
+        long cutoff = System.currentTimeMillis() - graceMs;
+        List<Path> candidates;
+        try (Stream<Path> files = Files.walk(store.root(), 3)) {
+            candidates = files.filter(Files::isRegularFile).toList();
+        }
+        int deleted = 0;
+        for (Path file : candidates) {
+            String name = file.getFileName().toString();
+            boolean blob = BlobStore.hashOfName(name) != null && !name.contains(".");
+            if (blob && counts.containsKey(name)) {
+                continue;
+            }
+            // Anything else is an orphaned temp file from an interrupted write.
+            // The age is checked again under the store's lock, since an upload
+            // may have been deduplicated against this blob since the listing
+            try {
+                long size = store.deleteIfOlder(file, cutoff);
+                if (size >= 0) {
+                    deleted++;
+                    reclaimed.increment();
+                    reclaimedBytes.increment(size);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not remove blob " + name + ": " + e.getMessage());
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Content-addressed file storage. Each blob is stored once under the hex
+ * SHA-256 of its bytes, fanned out as {@code ab/cd/abcd...} so no single
+ * directory grows large. Identical uploads share one file; blobs that no
+ * lesson or submission refers to any more are removed by
+ * {@link BlobGarbageCollector}. Committing a blob and collecting it are
+ * serialised per name, so a blob is never deleted after an upload has
+ * been deduplicated against it.
+ */
+@Component
+public class BlobStore {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Lesson videos are "/videos/<hash>.<ext>", theory submissions "blob:<hash>"
+    private static final Pattern BLOB_REF = Pattern.compile("^(?:/videos/|blob:)([0-9a-f]{64})(?:\\.[a-z0-9]{1,10})?$");
+    private static final Pattern BLOB_NAME = Pattern.compile("^([0-9a-f]{64})(?:\\.[a-z0-9]{1,10})?$");
+
+    private final Path root;
+    private final Path tmpDir;
+    private final Object[] locks = new Object[64];
+
+    public BlobStore(@Value("${blob.store-dir:uploads/blobs}") String storeDir) {
+        this.root = Paths.get(storeDir).toAbsolutePath().normalize();
+        this.tmpDir = root.resolve("tmp");
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(tmpDir);
+    }
+
+    /**
+     * Streams {@code in} to disk, hashing as it goes, and returns the hash.
+     */
+    public String put(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        Path tmp = tmpDir.resolve(UUID.randomUUID() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            return commit(tmp, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Takes ownership of a file that is already complete on disk, such as an
+     * assembled chunked upload, and returns its hash.
+     */
+    public String adopt(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        try {
+            return commit(file, HexFormat.of().formatHex(digest.digest()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    public Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    Path root() {
+        return root;
+    }
+
+    /**
+     * The blob hash a stored URL points at, or {@code null} for files saved
+     * before the store existed.
+     */
+    public static String hashOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher m = BLOB_REF.matcher(url);
+        return m.matches() ? m.group(1) : null;
+    }
+
+    /**
+     * Same as {@link #hashOf} for a bare file name such as {@code <hash>.mp4}.
+     */
+    public static String hashOfName(String name) {
+        Matcher m = BLOB_NAME.matcher(name);
+        return m.matches() ? m.group(1) : null;
+    }
+
+    /**
+     * Lower-case extension of {@code fileName} including the dot, or an
+     * empty string when it has none usable in a URL.
+     */
+    public static String extensionOf(String fileName) {
+        if (fileName == null) {
+            return "";
+        }
+        int dot = fileName.lastIndexOf('.');
+        String ext = dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase();
+        return ext.matches("[a-z0-9]{1,10}") ? "." + ext : "";
+    }
+
+    /**
+     * Deletes {@code file} if it was last modified before
+     * {@code cutoffMillis} and returns its size, or -1 if it was kept. The
+     * timestamp is checked under the same lock {@link #commit} holds.
+     */
+    long deleteIfOlder(Path file, long cutoffMillis) throws IOException {
+        synchronized (lockFor(file.getFileName().toString())) {
+            if (!Files.exists(file) || Files.getLastModifiedTime(file).toMillis() >= cutoffMillis) {
+                return -1;
+            }
+            long size = Files.size(file);
+            return Files.deleteIfExists(file) ? size : -1;
+        }
+    }
+
+    private String commit(Path file, String hash) throws IOException {
+        Path target = path(hash);
+        synchronized (lockFor(hash)) {
+            if (Files.exists(target)) {
+                // Deduplicated; refresh the timestamp so the collector's grace
+                // period covers the new reference that is about to be saved
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                return hash;
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Path staged = target.resolveSibling(hash + ".tmp");
+                Files.copy(file, staged, StandardCopyOption.REPLACE_EXISTING);
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return hash;
+        }
+    }
+
+    private Object lockFor(String name) {
+        return locks[Math.floorMod(name.hashCode(), locks.length)];
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
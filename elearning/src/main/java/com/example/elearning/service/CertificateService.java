@@ -1,7 +1,6 @@
 package com.example.elearning.service;
 import java.util.List;
 import java.util.UUID;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import com.example.elearning.dto.response.CertificateResponseDTO;
 import com.example.elearning.model.Certificate;
@@ -13,33 +12,30 @@ import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.EnrollmentRepository;
 import com.example.elearning.repository.LessonProgressRepository;
 import com.example.elearning.repository.LessonRepository;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 @Service
 public class CertificateService {
         private final CertificateRepository certificateRepo;
         private final EnrollmentRepository enrollmentRepo;
         private final LessonRepository lessonRepo;
         private final LessonProgressRepository progressRepo;
-        private final UserRepository userRepo;
         private final CourseRepository courseRepo;
+        private final CurrentUser currentUser;
         public CertificateService(CertificateRepository certificateRepo,
                         EnrollmentRepository enrollmentRepo,
                         LessonRepository lessonRepo,
                         LessonProgressRepository progressRepo,
-                        UserRepository userRepo,
-                        CourseRepository courseRepo) {
+                        CourseRepository courseRepo,
+                        CurrentUser currentUser) {
                 this.certificateRepo = certificateRepo;
                 this.enrollmentRepo = enrollmentRepo;
                 this.lessonRepo = lessonRepo;
                 this.progressRepo = progressRepo;
-                this.userRepo = userRepo;
                 this.courseRepo = courseRepo;
+                this.currentUser = currentUser;
         }
         public CertificateResponseDTO generateCertificate(Long courseId) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User student = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                User student = currentUser.get();
                 if (certificateRepo.existsByStudentIdAndCourseId(student.getId(), courseId)) {
                         throw new RuntimeException("Certificate already issued for this course");
                 }
@@ -72,11 +68,7 @@ public class CertificateService {
                                 saved.getCompletionPercentage());
         }
         public List<CertificateResponseDTO> getMyCertificates() {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User student = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                return certificateRepo.findByStudentId(student.getId())
+                return certificateRepo.findByStudentId(currentUser.getId())
                                 .stream()
                                 .map(cert -> new CertificateResponseDTO(
                                                 cert.getId(),
@@ -0,0 +1,302 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.example.elearning.dto.request.InitUploadRequestDTO;
+import com.example.elearning.dto.response.UploadSessionResponseDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Resumable video uploads. The client splits the file into fixed-size
+ * chunks and PUTs each one with its offset and SHA-256; chunks are written
+ * straight to their final position in a part file, in any order and in
+ * parallel. A chunk whose checksum does not match is not counted and must
+ * be resent. Sessions live in memory, so an upload interrupted by a
+ * restart starts over.
+ */
+@Service
+public class ChunkedUploadService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+
+    private static final class Session {
+        private final String id;
+        private final Long ownerId;
+        private final String fileName;
+        private final long size;
+        private final int totalChunks;
+        private final Path partFile;
+        private final FileChannel channel;
+        // Guarded by this
+        private final BitSet received = new BitSet();
+        // Chunks being written; set only after the checksum matched goes into received
+        private final BitSet writing = new BitSet();
+        private boolean closed;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        private Session(String id, Long ownerId, String fileName, long size, int totalChunks, Path partFile,
+                FileChannel channel) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.fileName = fileName;
+            this.size = size;
+            this.totalChunks = totalChunks;
+            this.partFile = partFile;
+            this.channel = channel;
+        }
+    }
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final BlobStore blobStore;
+    private final Path partialDir;
+    private final int chunkSize;
+    private final long maxSize;
+    private final long sessionTtlMs;
+
+    public ChunkedUploadService(BlobStore blobStore, @Value("${file.upload-dir}") String uploadDir,
+            @Value("${upload.chunk-size:5242880}") int chunkSize,
+            @Value("${upload.max-video-bytes:524288000}") long maxSize,
+            @Value("${upload.session-ttl-ms:86400000}") long sessionTtlMs) {
+        this.blobStore = blobStore;
+        this.partialDir = Paths.get(uploadDir).toAbsolutePath().normalize().resolve(".partial");
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        this.sessionTtlMs = sessionTtlMs;
+    }
+
+    @PostConstruct
+    void removeLeftovers() throws IOException {
+        Files.createDirectories(partialDir);
+        // Sessions do not survive a restart, so neither do their part files
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(partialDir, "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+    }
+
+    public UploadSessionResponseDTO init(Long ownerId, InitUploadRequestDTO request) {
+        if (!request.getContentType().startsWith("video/")) {
+            throw new RuntimeException("Only video files allowed");
+        }
+        if (request.getSize() > maxSize) {
+            throw new RuntimeException("File is larger than " + maxSize + " bytes");
+        }
+        Path name = Paths.get(request.getFileName()).getFileName();
+        if (name == null || name.toString().isBlank()) {
+            throw new RuntimeException("Invalid file name");
+        }
+        String id = UUID.randomUUID().toString();
+        Path partFile = partialDir.resolve(id + PART_SUFFIX);
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                    StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start upload", e);
+        }
+        int totalChunks = (int) ((request.getSize() + chunkSize - 1) / chunkSize);
+        Session session = new Session(id, ownerId, name.toString(), request.getSize(), totalChunks, partFile,
+                channel);
+        sessions.put(id, session);
+        return toDTO(session, null);
+    }
+
+    /**
+     * Writes one chunk at {@code offset}. {@code sha256} is the hex digest
+     * of the chunk's bytes. A chunk that was already received is not
+     * written again, so a resend can never replace verified bytes.
+     */
+    public UploadSessionResponseDTO writeChunk(String sessionId, Long ownerId, long offset, String sha256,
+            InputStream body) {
+        Session session = find(sessionId, ownerId);
+        if (offset < 0 || offset >= session.size || offset % chunkSize != 0) {
+            throw new RuntimeException("Offset must be a multiple of " + chunkSize + " within the file");
+        }
+        if (sha256 == null || sha256.isBlank()) {
+            throw new RuntimeException("Chunk checksum is required");
+        }
+        int index = (int) (offset / chunkSize);
+        synchronized (session) {
+            if (session.closed) {
+                throw new RuntimeException("Upload session not found");
+            }
+            if (session.received.get(index)) {
+                session.lastActivity = System.currentTimeMillis();
+                return toDTO(session, null);
+            }
+            if (session.writing.get(index)) {
+                throw new RuntimeException("Chunk " + index + " is already being uploaded");
+            }
+            session.writing.set(index);
+        }
+        try {
+            writeChunk(session, index, offset, sha256, body);
+        } finally {
+            synchronized (session) {
+                session.writing.clear(index);
+            }
+        }
+        return toDTO(session, null);
+    }
+
+    private void writeChunk(Session session, int index, long offset, String sha256, InputStream body) {
+        long expected = Math.min(chunkSize, session.size - offset);
+        MessageDigest digest = sha256();
+        long written = 0;
+        try {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int read;
+            while ((read = body.read(bytes)) != -1) {
+                if (written + read > expected) {
+                    throw new RuntimeException("Chunk " + index + " is longer than " + expected + " bytes");
+                }
+                digest.update(bytes, 0, read);
+                buffer.clear().limit(read);
+                long position = offset + written;
+                while (buffer.hasRemaining()) {
+                    position += session.channel.write(buffer, position);
+                }
+                written += read;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write chunk " + index, e);
+        }
+        session.lastActivity = System.currentTimeMillis();
+        if (written != expected) {
+            throw new RuntimeException("Chunk " + index + " is incomplete: " + written + " of " + expected + " bytes");
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equalsIgnoreCase(sha256.trim())) {
+            throw new RuntimeException("Checksum mismatch for chunk " + index);
+        }
+        synchronized (session) {
+            if (session.closed) {
+                throw new RuntimeException("Upload session not found");
+            }
+            session.received.set(index);
+        }
+    }
+
+    public UploadSessionResponseDTO status(String sessionId, Long ownerId) {
+        return toDTO(find(sessionId, ownerId), null);
+    }
+
+    /**
+     * Hands the assembled file to the blob store once every chunk has
+     * arrived and returns its URL.
+     */
+    public UploadSessionResponseDTO complete(String sessionId, Long ownerId) {
+        Session session = find(sessionId, ownerId);
+        synchronized (session) {
+            if (session.closed) {
+                throw new RuntimeException("Upload session not found");
+            }
+            if (session.received.cardinality() < session.totalChunks) {
+                return toDTO(session, null);
+            }
+            session.closed = true;
+        }
+        sessions.remove(sessionId);
+        String hash;
+        try {
+            session.channel.force(false);
+            session.channel.close();
+            hash = blobStore.adopt(session.partFile);
+        } catch (IOException e) {
+            discard(session);
+            throw new RuntimeException("Failed to upload video", e);
+        }
+        return toDTO(session, "/videos/" + hash + BlobStore.extensionOf(session.fileName));
+    }
+
+    public void abort(String sessionId, Long ownerId) {
+        Session session = find(sessionId, ownerId);
+        synchronized (session) {
+            session.closed = true;
+        }
+        sessions.remove(sessionId);
+        discard(session);
+    }
+
+    @Scheduled(fixedDelayString = "${upload.cleanup-interval-ms:600000}")
+    public void expireAbandoned() {
+        long cutoff = System.currentTimeMillis() - sessionTtlMs;
+        for (Session session : sessions.values()) {
+            if (session.lastActivity >= cutoff) {
+                continue;
+            }
+            synchronized (session) {
+                if (session.closed) {
+                    continue;
+                }
+                session.closed = true;
+            }
+            sessions.remove(session.id);
+            discard(session);
+            System.out.println("Discarded abandoned upload " + session.id + " (" + session.fileName + ")");
+        }
+    }
+
+    @PreDestroy
+    void closeAll() {
+        sessions.values().forEach(this::discard);
+        sessions.clear();
+    }
+
+    private Session find(String sessionId, Long ownerId) {
+        Session session = sessions.get(sessionId);
+        if (session == null || !session.ownerId.equals(ownerId)) {
+            throw new RuntimeException("Upload session not found");
+        }
+        return session;
+    }
+
+    private void discard(Session session) {
+        try {
+            session.channel.close();
+            Files.deleteIfExists(session.partFile);
+        } catch (IOException e) {
+            System.err.println("Failed to remove upload " + session.id + ": " + e.getMessage());
+        }
+    }
+
+    private UploadSessionResponseDTO toDTO(Session session, String url) {
+        List<Integer> missing = new ArrayList<>();
+        synchronized (session) {
+            for (int i = session.received.nextClearBit(0); i < session.totalChunks;
+                    i = session.received.nextClearBit(i + 1)) {
+                missing.add(i);
+            }
+        }
+        return new UploadSessionResponseDTO(session.id, session.size, chunkSize, session.totalChunks, missing, url);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
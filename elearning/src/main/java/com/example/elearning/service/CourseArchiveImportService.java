@@ -0,0 +1,233 @@
+package com.example.elearning.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.importer.CourseImportException;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Imports a ZIP of course files for admins onboarding a partner. Every
+ * file is an independent import through {@link CourseImportService}: files
+ * are validated and written in parallel on a bounded pool, each in its own
+ * transaction, and a bad file does not stop the others. Results are
+ * reported one per file as they finish.
+ */
+@Service
+public class CourseArchiveImportService {
+    private final CourseImportService importService;
+    private final UserRepository userRepo;
+    private final CurrentUser currentUser;
+    private final int maxFiles;
+    private final long maxFileBytes;
+    private final ExecutorService pool;
+
+    /**
+     * An uploaded archive spooled to disk, with the course files to import.
+     */
+    public record Archive(Path path, ZipFile zip, List<ZipEntry> entries, User owner) {
+    }
+
+    public CourseArchiveImportService(CourseImportService importService, UserRepository userRepo,
+            CurrentUser currentUser,
+            @Value("${course-import.archive-concurrency:4}") int concurrency,
+            @Value("${course-import.archive-max-files:500}") int maxFiles,
+            @Value("${course-import.max-file-bytes:10485760}") long maxFileBytes) {
+        this.importService = importService;
+        this.userRepo = userRepo;
+        this.currentUser = currentUser;
+        this.maxFiles = maxFiles;
+        this.maxFileBytes = maxFileBytes;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(Math.max(1, concurrency), r -> {
+            Thread t = new Thread(r, "course-import-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Checks the request and lists the archive while still on the request
+     * thread, so problems are reported as a normal error response.
+     * {@code teacherId} is the owner of the imported courses; without it
+     * they belong to the calling admin.
+     */
+    public Archive open(MultipartFile file, Long teacherId) {
+        User owner;
+        if (teacherId == null) {
+            owner = currentUser.get();
+        } else {
+            owner = userRepo.findById(teacherId)
+                    .filter(u -> u.getRole() == Role.TEACHER)
+                    .orElseThrow(() -> new RuntimeException("Teacher not found"));
+        }
+        Path path = null;
+        ZipFile zip = null;
+        try {
+            path = Files.createTempFile("course-archive-", ".zip");
+            file.transferTo(path);
+            zip = new ZipFile(path.toFile());
+            List<ZipEntry> entries = zip.stream()
+                    .filter(e -> !e.isDirectory() && isCourseFile(e.getName()))
+                    .sorted(Comparator.comparing(ZipEntry::getName))
+                    .map(e -> (ZipEntry) e)
+                    .toList();
+            if (entries.isEmpty()) {
+                throw new RuntimeException("Archive contains no course files");
+            }
+            if (entries.size() > maxFiles) {
+                throw new RuntimeException("Archive has " + entries.size() + " files; the limit is " + maxFiles);
+            }
+            return new Archive(path, zip, entries, owner);
+        } catch (IOException | RuntimeException e) {
+            close(path, zip);
+            if (e instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException("Failed to read archive: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Imports every file and passes one result per file to {@code report},
+     * in completion order, followed by a summary. Always releases the
+     * archive.
+     */
+    public void run(Archive archive, Consumer<Map<String, Object>> report) {
+        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+        try {
+            report.accept(Map.of("event", "started", "files", archive.entries().size()));
+            CompletionService<Map<String, Object>> completion = new ExecutorCompletionService<>(pool);
+            for (ZipEntry entry : archive.entries()) {
+                futures.add(completion.submit(() -> importEntry(archive, entry)));
+            }
+            int imported = 0;
+            for (int i = 0; i < futures.size(); i++) {
+                Map<String, Object> result = completion.take().get();
+                if ("imported".equals(result.get("status"))) {
+                    imported++;
+                }
+                report.accept(result);
+            }
+            report.accept(Map.of("event", "finished", "imported", imported,
+                    "failed", futures.size() - imported));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Archive import failed: " + e.getCause().getMessage());
+        } finally {
+            // Client went away or the import was interrupted; skip files not started yet
+            futures.forEach(f -> f.cancel(false));
+            close(archive.path(), archive.zip());
+        }
+    }
+
+    private Map<String, Object> importEntry(Archive archive, ZipEntry entry) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("event", "file");
+        result.put("file", entry.getName());
+        try {
+            CourseResponseDTO course = importService.importCourse(
+                    () -> new LimitedInputStream(archive.zip().getInputStream(entry), maxFileBytes),
+                    archive.owner());
+            result.put("status", "imported");
+            result.put("courseId", course.getId());
+            result.put("title", course.getTitle());
+            result.put("lessons", course.getLessonCount());
+        } catch (CourseImportException e) {
+            result.put("status", "invalid");
+            result.put("message", e.getMessage());
+            result.put("errors", e.getErrors());
+        } catch (RuntimeException e) {
+            result.put("status", "failed");
+            result.put("message", e.getMessage());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static boolean isCourseFile(String name) {
+        String base = name.substring(name.lastIndexOf('/') + 1);
+        return !name.startsWith("__MACOSX/") && !base.startsWith(".");
+    }
+
+    private static void close(Path path, ZipFile zip) {
+        try {
+            if (zip != null) {
+                zip.close();
+            }
+            if (path != null) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to remove archive " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops reading an entry past the size limit, whatever its header says.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long read;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > limit) {
+                throw new IOException("file is larger than " + limit + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import com.example.elearning.importer.CourseFileParser;
+import com.example.elearning.importer.CourseFileWriter;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.TaskType;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.repository.McqQuestionRepository;
+import com.example.elearning.repository.TaskRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * Writes a course back out in the import format. Lessons and tasks are read
+ * in id order, {@code course-export.batch-size} at a time, with the test
+ * cases and questions of each task batch fetched in one query each; every
+ * batch is written and flushed before the next is read, so memory does not
+ * grow with the course.
+ */
+@Service
+public class CourseExportService {
+    private final CourseRepository courseRepo;
+    private final LessonRepository lessonRepo;
+    private final TaskRepository taskRepo;
+    private final McqQuestionRepository mcqQuestionRepo;
+    private final CurrentUser currentUser;
+    private final int batchSize;
+
+    public CourseExportService(CourseRepository courseRepo, LessonRepository lessonRepo, TaskRepository taskRepo,
+            McqQuestionRepository mcqQuestionRepo, CurrentUser currentUser,
+            @Value("${course-export.batch-size:200}") int batchSize) {
+        this.courseRepo = courseRepo;
+        this.lessonRepo = lessonRepo;
+        this.taskRepo = taskRepo;
+        this.mcqQuestionRepo = mcqQuestionRepo;
+        this.currentUser = currentUser;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Loads the course and checks access while still on the request thread,
+     * so problems are reported as a normal error response.
+     */
+    public Course open(Long courseId) {
+        Course course = courseRepo.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        Role role = currentUser.getRole();
+        if (role != Role.ADMIN &&
+                !(role == Role.TEACHER && course.getTeacher().getId().equals(currentUser.getId()))) {
+            throw new RuntimeException("Not authorized to export this course");
+        }
+        return course;
+    }
+
+    public void export(Course course, Writer out) throws IOException {
+        CourseFileWriter writer = new CourseFileWriter(out);
+        writer.course(new CourseFileParser.CourseSection(0, course.getTitle(), course.getDescription(),
+                course.isPaid(), course.getPrice() != null ? course.getPrice() : 0.0, course.isPublished()));
+
+        long afterId = 0;
+        List<Object[]> lessons;
+        do {
+            lessons = lessonRepo.findExportRows(course.getId(), afterId, PageRequest.of(0, batchSize));
+            for (Object[] row : lessons) {
+                writer.lesson(new CourseFileParser.LessonSection(0, (String) row[1], (String) row[2],
+                        ((Number) row[3]).intValue(), day(row[4])));
+                afterId = ((Number) row[0]).longValue();
+            }
+            out.flush();
+        } while (lessons.size() == batchSize);
+
+        afterId = 0;
+        List<Object[]> tasks;
+        do {
+            tasks = taskRepo.findExportRows(course.getId(), afterId, PageRequest.of(0, batchSize));
+            writeTasks(writer, tasks);
+            if (!tasks.isEmpty()) {
+                afterId = ((Number) tasks.get(tasks.size() - 1)[0]).longValue();
+            }
+            out.flush();
+        } while (tasks.size() == batchSize);
+    }
+
+    private void writeTasks(CourseFileWriter writer, List<Object[]> tasks) throws IOException {
+        List<Long> codingIds = new ArrayList<>();
+        List<Long> mcqIds = new ArrayList<>();
+        for (Object[] row : tasks) {
+            TaskType type = (TaskType) row[1];
+            if (type == TaskType.CODING) {
+                codingIds.add((Long) row[0]);
+            } else if (type == TaskType.MCQ) {
+                mcqIds.add((Long) row[0]);
+            }
+        }
+        Map<Long, List<CourseFileParser.TestCaseEntry>> testCases = new HashMap<>();
+        if (!codingIds.isEmpty()) {
+            for (Object[] row : taskRepo.findTestCaseRows(codingIds)) {
+                testCases.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new CourseFileParser.TestCaseEntry((String) row[1], (String) row[2]));
+            }
+        }
+        Map<Long, List<CourseFileParser.QuestionEntry>> questions = new HashMap<>();
+        if (!mcqIds.isEmpty()) {
+            for (Object[] row : mcqQuestionRepo.findExportRows(mcqIds)) {
+                questions.computeIfAbsent((Long) row[0], id -> new ArrayList<>())
+                        .add(new CourseFileParser.QuestionEntry((String) row[1], (String) row[2], (String) row[3],
+                                (String) row[4], (String) row[5], (String) row[6]));
+            }
+        }
+        for (Object[] row : tasks) {
+            Long id = (Long) row[0];
+            TaskType type = (TaskType) row[1];
+            writer.task(new CourseFileParser.TaskSection(0, type, (String) row[2], (String) row[3], day(row[4]),
+                    type == TaskType.CODING ? (String) row[5] : null,
+                    testCases.getOrDefault(id, List.of()), questions.getOrDefault(id, List.of())));
+        }
+    }
+
+    private static int day(Object value) {
+        return value != null ? ((Number) value).intValue() : 1;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.importer.CourseFileParser;
+import com.example.elearning.importer.CourseImportException;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * Imports course files in two streaming passes. The first only parses and
+ * validates, reporting every problem with its line number; the second runs
+ * only for a clean file and writes lessons, tasks, test cases and questions
+ * with JDBC batches of at most {@code course-import.batch-size} rows, all in
+ * one transaction. Memory use is bounded by the batch size, not the file.
+ */
+@Service
+public class CourseImportService {
+    private static final String INSERT_LESSON = "insert into lessons "
+            + "(title, video_url, lesson_order, day_number, course_id) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_TASK = "insert into tasks "
+            + "(title, description, starter_code, task_type, day_number, created_at, course_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TEST_CASE = "insert into test_cases "
+            + "(input, expected_output, task_id) values (?, ?, ?)";
+    private static final String INSERT_QUESTION = "insert into mcq_questions "
+            + "(question, option_a, option_b, option_c, option_d, correct_answer, question_order, task_id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CourseRepository courseRepo;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final CurrentUser currentUser;
+    private final SearchService searchService;
+    private final TaskCatalogCache taskCatalogCache;
+    private final int batchSize;
+
+    public CourseImportService(CourseRepository courseRepo, JdbcTemplate jdbc, TransactionTemplate tx,
+            CurrentUser currentUser, SearchService searchService, TaskCatalogCache taskCatalogCache,
+            @Value("${course-import.batch-size:500}") int batchSize) {
+        this.courseRepo = courseRepo;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.currentUser = currentUser;
+        this.searchService = searchService;
+        this.taskCatalogCache = taskCatalogCache;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public CourseResponseDTO importCourse(InputStreamSource file) {
+        User teacher = currentUser.get();
+        if (teacher.getRole() != Role.TEACHER && teacher.getRole() != Role.ADMIN) {
+            throw new RuntimeException("Only teachers can import courses");
+        }
+        return importCourse(file, teacher);
+    }
+
+    /**
+     * Validates and imports one course file owned by {@code teacher}.
+     *
+     * @throws CourseImportException if the file has errors; nothing is written
+     */
+    public CourseResponseDTO importCourse(InputStreamSource file, User teacher) {
+        validate(file);
+        Writer writer = new Writer(teacher);
+        Course course = tx.execute(status -> {
+            parse(file, writer);
+            writer.flush();
+            return writer.course;
+        });
+        searchService.courseSaved(course);
+        searchService.courseLessonsImported(course.getId());
+        taskCatalogCache.evict(course.getId());
+        return new CourseResponseDTO(course.getId(), course.getTitle(), course.getDescription(), course.isPaid(),
+                course.getPrice(), teacher.getName(), writer.lessonCount, 0L, course.isPublished(),
+                course.getCreatedAt());
+    }
+
+    public void validate(InputStreamSource file) {
+        CourseFileParser parser = parse(file, new CourseFileParser.Handler() {
+            @Override
+            public void course(CourseFileParser.CourseSection course) {
+            }
+
+            @Override
+            public void lesson(CourseFileParser.LessonSection lesson) {
+            }
+
+            @Override
+            public void task(CourseFileParser.TaskSection task) {
+            }
+        });
+        if (parser.hasErrors()) {
+            throw new CourseImportException(parser.getErrors(), parser.getErrorCount());
+        }
+    }
+
+    private CourseFileParser parse(InputStreamSource file, CourseFileParser.Handler handler) {
+        CourseFileParser parser = new CourseFileParser();
+        try (Reader in = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            parser.parse(in, handler);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to process file: " + e.getMessage());
+        }
+        return parser;
+    }
+
+    /**
+     * Second pass: buffers sections and writes them a batch at a time.
+     */
+    private final class Writer implements CourseFileParser.Handler {
+        private final User teacher;
+        private final List<CourseFileParser.LessonSection> lessons = new ArrayList<>();
+        private final List<CourseFileParser.TaskSection> tasks = new ArrayList<>();
+        private int pendingTaskRows;
+        private Course course;
+        private long lessonCount;
+
+        private Writer(User teacher) {
+            this.teacher = teacher;
+        }
+
+        @Override
+        public void course(CourseFileParser.CourseSection section) {
+            Course c = new Course();
+            c.setTitle(section.title());
+            c.setDescription(section.description());
+            c.setPaid(section.paid());
+            c.setPrice(section.price());
+            c.setPublished(section.published());
+            c.setTeacher(teacher);
+            course = courseRepo.save(c);
+        }
+
+        @Override
+        public void lesson(CourseFileParser.LessonSection lesson) {
+            lessons.add(lesson);
+            lessonCount++;
+            if (lessons.size() >= batchSize) {
+                flushLessons();
+            }
+        }
+
+        @Override
+        public void task(CourseFileParser.TaskSection task) {
+            tasks.add(task);
+            pendingTaskRows += task.rowCount();
+            if (pendingTaskRows >= batchSize) {
+                flushTasks();
+            }
+        }
+
+        void flush() {
+            flushLessons();
+            flushTasks();
+        }
+
+        private void flushLessons() {
+            if (lessons.isEmpty()) {
+                return;
+            }
+            Long courseId = course.getId();
+            jdbc.batchUpdate(INSERT_LESSON, lessons, lessons.size(), (ps, lesson) -> {
+                ps.setString(1, lesson.title());
+                ps.setString(2, lesson.videoUrl());
+                ps.setInt(3, lesson.order());
+                ps.setInt(4, lesson.day());
+                ps.setLong(5, courseId);
+            });
+            lessons.clear();
+        }
+
+        private void flushTasks() {
+            if (tasks.isEmpty()) {
+                return;
+            }
+            Long courseId = course.getId();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(INSERT_TASK, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            CourseFileParser.TaskSection task = tasks.get(i);
+                            ps.setString(1, task.title());
+                            ps.setString(2, task.description());
+                            ps.setString(3, task.starterCode());
+                            ps.setString(4, task.type().name());
+                            ps.setInt(5, task.day());
+                            ps.setTimestamp(6, now);
+                            ps.setLong(7, courseId);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return tasks.size();
+                        }
+                    }, keys);
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            if (keyList.size() != tasks.size()) {
+                throw new RuntimeException("Error importing course: task ids were not returned");
+            }
+
+            List<Object[]> testCases = new ArrayList<>();
+            List<Object[]> questions = new ArrayList<>();
+            for (int i = 0; i < tasks.size(); i++) {
+                long taskId = ((Number) keyList.get(i).values().iterator().next()).longValue();
+                CourseFileParser.TaskSection task = tasks.get(i);
+                for (CourseFileParser.TestCaseEntry tc : task.testCases()) {
+                    testCases.add(new Object[] { tc.input(), tc.expectedOutput(), taskId });
+                }
+                int order = 1;
+                for (CourseFileParser.QuestionEntry q : task.questions()) {
+                    questions.add(new Object[] { q.question(), q.optionA(), q.optionB(), q.optionC(), q.optionD(),
+                            q.correctAnswer(), order++, taskId });
+                }
+            }
+            if (!testCases.isEmpty()) {
+                jdbc.batchUpdate(INSERT_TEST_CASE, testCases);
+            }
+            if (!questions.isEmpty()) {
+                jdbc.batchUpdate(INSERT_QUESTION, questions);
+            }
+            tasks.clear();
+            pendingTaskRows = 0;
+        }
+    }
+}
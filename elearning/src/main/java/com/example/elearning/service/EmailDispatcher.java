@@ -0,0 +1,129 @@
+package com.example.elearning.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import com.example.elearning.model.EmailOutbox;
+import com.example.elearning.model.EmailStatus;
+import com.example.elearning.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Delivers outbox emails in the background with bounded concurrency.
+ * Failed sends are retried with exponential backoff and dead-lettered after
+ * {@code email.outbox.max-attempts}. A claimed row is leased for
+ * {@code email.outbox.lease-ms}; rows still in SENDING after that, because
+ * of a crash or a failed status write, are returned to PENDING by the next
+ * poll.
+ */
+@Component
+public class EmailDispatcher {
+    private final EmailOutboxRepository outboxRepo;
+    private final EmailService emailService;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+    private final Semaphore slots;
+    private final ExecutorService workers;
+
+    public EmailDispatcher(EmailOutboxRepository outboxRepo, EmailService emailService,
+            @Value("${email.outbox.concurrency:4}") int concurrency,
+            @Value("${email.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${email.outbox.backoff-ms:30000}") long backoffMs,
+            @Value("${email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+            @Value("${email.outbox.lease-ms:600000}") long leaseMs) {
+        this.outboxRepo = outboxRepo;
+        this.emailService = emailService;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+        this.slots = new Semaphore(concurrency);
+        this.workers = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread t = new Thread(r, "email-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxRepo.releaseAbandoned(now.minusNanos(leaseMs * 1_000_000));
+        if (released > 0) {
+            System.out.println("Requeued " + released + " emails left in SENDING past their lease");
+        }
+        int free = slots.availablePermits();
+        if (free == 0) {
+            return;
+        }
+        List<Long> due = outboxRepo.findDueIds(now, PageRequest.of(0, free));
+        for (Long id : due) {
+            if (!slots.tryAcquire()) {
+                break;
+            }
+            if (outboxRepo.claim(id, LocalDateTime.now()) == 0) {
+                slots.release();
+                continue;
+            }
+            workers.execute(() -> {
+                try {
+                    deliver(id);
+                } catch (RuntimeException e) {
+                    System.err.println("Email " + id + " stays in SENDING until its lease expires: "
+                            + e.getMessage());
+                } finally {
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    void deliver(Long id) {
+        EmailOutbox mail = outboxRepo.findById(id).orElse(null);
+        if (mail == null) {
+            return;
+        }
+        try {
+            emailService.send(mail.getRecipient(), mail.getSubject(), mail.getBody());
+            mail.setStatus(EmailStatus.SENT);
+            mail.setSentAt(LocalDateTime.now());
+            mail.setClaimedAt(null);
+            mail.setLastError(null);
+        } catch (Exception e) {
+            int attempts = mail.getAttempts() + 1;
+            mail.setAttempts(attempts);
+            String error = String.valueOf(e.getMessage());
+            mail.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            mail.setClaimedAt(null);
+            if (attempts >= maxAttempts) {
+                mail.setStatus(EmailStatus.DEAD);
+                System.err.println("Giving up on email " + id + " to " + mail.getRecipient() + ": " + error);
+            } else {
+                mail.setStatus(EmailStatus.PENDING);
+                mail.setNextAttemptAt(LocalDateTime.now().plusNanos(backoff(attempts) * 1_000_000));
+            }
+        }
+        outboxRepo.save(mail);
+    }
+
+    long backoff(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 30);
+        return delay < 0 ? maxBackoffMs : Math.min(delay, maxBackoffMs);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        // Anything still in SENDING is requeued once its lease expires
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.elearning.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.elearning.model.EmailOutbox;
+import com.example.elearning.repository.EmailOutboxRepository;
+
+@Service
+public class EmailOutboxService {
+    private final EmailOutboxRepository outboxRepo;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepo) {
+        this.outboxRepo = outboxRepo;
+    }
+
+    /**
+     * Records the email for later delivery. Joins the caller's transaction,
+     * so the email is only sent if the business change commits.
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        EmailOutbox mail = new EmailOutbox();
+        mail.setRecipient(to);
+        mail.setSubject(subject);
+        mail.setBody(body);
+        outboxRepo.save(mail);
+    }
+}
@@ -1,18 +1,146 @@
 package com.example.elearning.service;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
 import org.springframework.stereotype.Service;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
 @Service
 public class EmailService {
 	private final JavaMailSender mailSender;
-	public EmailService(JavaMailSender mailSender) {
+	// Null unless mail.pool.enabled and the sender is a JavaMailSenderImpl
+	private final SmtpConnectionPool pool;
+	private final Counter sentCounter;
+	private final Counter failedCounter;
+	private final Timer sendTimer;
+	private final AtomicInteger queued = new AtomicInteger();
+	public EmailService(JavaMailSender mailSender, MeterRegistry meterRegistry,
+			@Value("${mail.pool.enabled:false}") boolean poolEnabled,
+			@Value("${mail.pool.size:4}") int poolSize,
+			@Value("${mail.pool.borrow-timeout-ms:10000}") long borrowTimeoutMs) {
 		this.mailSender = mailSender;
+		this.pool = poolEnabled && mailSender instanceof JavaMailSenderImpl impl
+				? new SmtpConnectionPool(impl, poolSize, borrowTimeoutMs)
+				: null;
+		this.sentCounter = meterRegistry.counter("elearning.mail.sent");
+		this.failedCounter = meterRegistry.counter("elearning.mail.failed");
+		this.sendTimer = meterRegistry.timer("elearning.mail.send");
+		meterRegistry.gauge("elearning.mail.queued", queued);
 	}
 	public void send(String to, String subject, String body ) {
 		SimpleMailMessage message = new SimpleMailMessage();
 		message.setTo(to);
 		message.setSubject(subject);
 		message.setText(body);
-		mailSender.send(message);
+		List<SimpleMailMessage> batch = List.of(message);
+		queued.incrementAndGet();
+		try {
+			sendTimer.record(() -> deliver(batch));
+			sentCounter.increment();
+		} catch (MailException e) {
+			failedCounter.increment();
+			throw e;
+		} finally {
+			queued.decrementAndGet();
+		}
+	}
+	/**
+	 * Sends the messages over as few connections as possible: one per call
+	 * without pooling, a reused pooled connection otherwise. Returns the
+	 * messages that could not be sent instead of throwing.
+	 */
+	public List<SimpleMailMessage> sendAll(List<SimpleMailMessage> messages) {
+		if (messages.isEmpty()) {
+			return List.of();
+		}
+		queued.addAndGet(messages.size());
+		List<SimpleMailMessage> failed = new ArrayList<>();
+		try {
+			sendTimer.record(() -> deliver(messages));
+		} catch (MailSendException e) {
+			Map<Object, Exception> failures = e.getFailedMessages();
+			if (failures.isEmpty()) {
+				failed.addAll(messages);
+			} else {
+				for (SimpleMailMessage message : messages) {
+					if (failures.containsKey(message)) {
+						failed.add(message);
+					}
+				}
+			}
+		} catch (MailException e) {
+			failed.addAll(messages);
+		} finally {
+			queued.addAndGet(-messages.size());
+		}
+		sentCounter.increment(messages.size() - failed.size());
+		failedCounter.increment(failed.size());
+		return failed;
+	}
+	private void deliver(List<SimpleMailMessage> messages) {
+		if (pool == null) {
+			mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+			return;
+		}
+		Map<Object, Exception> failures = new LinkedHashMap<>();
+		Transport transport = null;
+		try {
+			for (int i = 0; i < messages.size(); i++) {
+				SimpleMailMessage message = messages.get(i);
+				if (transport == null) {
+					try {
+						transport = pool.borrow();
+					} catch (MessagingException e) {
+						// Server unreachable or pool exhausted; fail the rest of the batch rather than retry per message
+						for (SimpleMailMessage rest : messages.subList(i, messages.size())) {
+							failures.put(rest, e);
+						}
+						break;
+					}
+				}
+				try {
+					MimeMessage mime = ((JavaMailSenderImpl) mailSender).createMimeMessage();
+					message.copyTo(new MimeMailMessage(mime));
+					mime.setSentDate(new Date());
+					mime.saveChanges();
+					transport.sendMessage(mime, mime.getAllRecipients());
+				} catch (MessagingException e) {
+					failures.put(message, e);
+					// Drop a connection that broke; the next message opens a new one
+					if (!transport.isConnected()) {
+						pool.release(transport, false);
+						transport = null;
+					}
+				}
+			}
+		} finally {
+			if (transport != null) {
+				pool.release(transport, true);
+			}
+		}
+		if (!failures.isEmpty()) {
+			throw new MailSendException(failures);
+		}
+	}
+	@PreDestroy
+	void closePool() {
+		if (pool != null) {
+			pool.close();
+		}
 	}
 }
@@ -1,8 +1,8 @@
 package com.example.elearning.service;
 import java.util.List;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.elearning.dto.response.EnrolledStudentDTO;
 import com.example.elearning.dto.response.EnrollmentResponseDTO;
 import com.example.elearning.event.CourseEnrolledEvent;
@@ -13,32 +13,32 @@ import com.example.elearning.model.User;
 import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.EnrollmentRepository;
 import com.example.elearning.repository.PaymentRepository;
-import com.example.elearning.repository.UserRepository;
 import com.example.elearning.repository.LessonRepository;
 import com.example.elearning.repository.LessonProgressRepository;
+import com.example.elearning.security.CurrentUser;
 @Service
 public class EnrollmentService {
 	private final EnrollmentRepository enrollRepo;
 	private final CourseRepository courseRepo;
-	private final UserRepository userRepo;
 	private final PaymentRepository paymentRepo;
 	private final LessonRepository lessonRepo;
 	private final LessonProgressRepository progressRepo;
 	private final ApplicationEventPublisher publisher;
-	public EnrollmentService(EnrollmentRepository enrollRepo, CourseRepository courseRepo, UserRepository userRepo,
+	private final CurrentUser currentUser;
+	public EnrollmentService(EnrollmentRepository enrollRepo, CourseRepository courseRepo,
 			PaymentRepository paymentRepo, LessonRepository lessonRepo, LessonProgressRepository progressRepo,
-			ApplicationEventPublisher publisher) {
+			ApplicationEventPublisher publisher, CurrentUser currentUser) {
 		this.enrollRepo = enrollRepo;
 		this.courseRepo = courseRepo;
-		this.userRepo = userRepo;
 		this.paymentRepo = paymentRepo;
 		this.lessonRepo = lessonRepo;
 		this.progressRepo = progressRepo;
 		this.publisher = publisher;
+		this.currentUser = currentUser;
 	}
+	@Transactional
 	public EnrollmentResponseDTO enroll(Long courseId) {
-		String email = SecurityContextHolder.getContext().getAuthentication().getName();
-		User student = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+		User student = currentUser.get();
 		if (student.getRole() != Role.STUDENT) {
 			throw new RuntimeException("Only students can enroll");
 		}
@@ -59,21 +59,11 @@ public class EnrollmentService {
 				course.getTeacher().getName(), 0);
 	}
 	public List<EnrollmentResponseDTO> myEnrollments() {
-		String email = SecurityContextHolder.getContext().getAuthentication().getName();
-		User student = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-		return enrollRepo.findByStudentId(student.getId()).stream().map(e -> {
-			int total = lessonRepo.findByCourseIdOrderByLessonOrderAsc(e.getCourse().getId()).size();
-			int completed = (int) progressRepo.countByEnrollmentId(e.getId());
-			int percent = total == 0 ? 0 : (completed * 100) / total;
-			return new EnrollmentResponseDTO(e.getCourse().getId(), e.getCourse().getTitle(), e.getEnrolledAt(),
-					e.getCourse().getTeacher().getName(), percent);
-		}).toList();
+		return enrollRepo.findDashboardByStudentId(currentUser.getId());
 	}
 	public List<EnrolledStudentDTO> getStudentsEnrolledInCourse(Long courseId) {
-		String email = SecurityContextHolder.getContext().getAuthentication().getName();
-		User teacher = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
 		Course course = courseRepo.findById(courseId).orElseThrow(() -> new RuntimeException("Course not found"));
-		if (!course.getTeacher().getId().equals(teacher.getId())) {
+		if (!course.getTeacher().getId().equals(currentUser.getId())) {
 			throw new RuntimeException("Not authorized to view enrollees for this course");
 		}
 		int totalLessons = lessonRepo.findByCourseIdOrderByLessonOrderAsc(courseId).size();
@@ -89,8 +79,6 @@ public class EnrollmentService {
 		}).toList();
 	}
 	public boolean isEnrolled(Long courseId) {
-		String email = SecurityContextHolder.getContext().getAuthentication().getName();
-		User student = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
-		return enrollRepo.existsByStudentIdAndCourseId(student.getId(), courseId);
+		return enrollRepo.existsByStudentIdAndCourseId(currentUser.getId(), courseId);
 	}
 }
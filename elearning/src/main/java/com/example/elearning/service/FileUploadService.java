@@ -1,16 +1,14 @@
 package com.example.elearning.service;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import org.springframework.beans.factory.annotation.Value;
+import java.io.InputStream;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 @Service
 public class FileUploadService {
-    @Value("${file.upload-dir}")
-    private String uploadDir;
+    private final BlobStore blobStore;
+    public FileUploadService(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
     public String uploadVideo(MultipartFile file) {
         if (file.isEmpty()) {
             throw new RuntimeException("File is empty");
@@ -19,16 +17,9 @@ public class FileUploadService {
             !file.getContentType().startsWith("video/")) {
             throw new RuntimeException("Only video files allowed");
         }
-        try {
-            String filename =
-                System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path path = Paths.get(uploadDir, filename);
-            Files.copy(
-                file.getInputStream(),
-                path,
-                StandardCopyOption.REPLACE_EXISTING
-            );
-            return "/videos/" + filename;
+        try (InputStream in = file.getInputStream()) {
+            String hash = blobStore.put(in);
+            return "/videos/" + hash + BlobStore.extensionOf(file.getOriginalFilename());
         } catch (IOException e) {
             throw new RuntimeException("Failed to upload video", e);
         }
@@ -0,0 +1,218 @@
+package com.example.elearning.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+import com.example.elearning.repository.LessonProgressRepository;
+import com.example.elearning.repository.LessonRepository;
+
+/**
+ * Compact lesson progress per enrollment: a bitmap indexed by lesson
+ * ordinal plus completed-lesson counters per day. Backed by two caches, the
+ * lesson layout of each course and the progress of each enrollment, both
+ * rebuilt from the database on a miss and kept in sync with
+ * {@code LessonProgress} inserts after commit.
+ */
+@Component
+public class LessonProgressTracker {
+    private static final int MAX_COURSES = 1_000;
+    private static final int MAX_ENROLLMENTS = 50_000;
+
+    private final LessonRepository lessonRepo;
+    private final LessonProgressRepository progressRepo;
+    private final Map<Long, Layout> layouts = new ConcurrentHashMap<>();
+    private final Map<Long, Progress> progresses = new ConcurrentHashMap<>();
+
+    public LessonProgressTracker(LessonRepository lessonRepo, LessonProgressRepository progressRepo) {
+        this.lessonRepo = lessonRepo;
+        this.progressRepo = progressRepo;
+    }
+
+    /**
+     * Lessons of a course in display order. Immutable; replaced as a whole
+     * when the course's lessons change.
+     */
+    public static final class Layout {
+        private final long[] lessonIds;
+        private final int[] days;
+        private final Map<Long, Integer> ordinals;
+        private final Map<Integer, Integer> lessonsPerDay;
+
+        Layout(long[] lessonIds, int[] days) {
+            this.lessonIds = lessonIds;
+            this.days = days;
+            this.ordinals = new HashMap<>();
+            this.lessonsPerDay = new HashMap<>();
+            for (int i = 0; i < lessonIds.length; i++) {
+                ordinals.put(lessonIds[i], i);
+                lessonsPerDay.merge(days[i], 1, Integer::sum);
+            }
+        }
+
+        public int lessonCount() {
+            return lessonIds.length;
+        }
+
+        public int lessonsOnDay(int day) {
+            return lessonsPerDay.getOrDefault(day, 0);
+        }
+
+        Integer ordinalOf(Long lessonId) {
+            return ordinals.get(lessonId);
+        }
+    }
+
+    /**
+     * Completed lessons of one enrollment against a specific layout.
+     */
+    public static final class Progress {
+        private final Layout layout;
+        private final long[] bits;
+        private final Map<Integer, Integer> completedPerDay = new HashMap<>();
+        private int completed;
+
+        Progress(Layout layout) {
+            this.layout = layout;
+            this.bits = new long[(layout.lessonCount() + 63) >>> 6];
+        }
+
+        synchronized boolean mark(Long lessonId) {
+            Integer ordinal = layout.ordinalOf(lessonId);
+            if (ordinal == null || isSet(ordinal)) {
+                return false;
+            }
+            bits[ordinal >>> 6] |= 1L << ordinal;
+            completedPerDay.merge(layout.days[ordinal], 1, Integer::sum);
+            completed++;
+            return true;
+        }
+
+        public synchronized boolean isCompleted(Long lessonId) {
+            Integer ordinal = layout.ordinalOf(lessonId);
+            return ordinal != null && isSet(ordinal);
+        }
+
+        public synchronized int completedCount() {
+            return completed;
+        }
+
+        public int totalCount() {
+            return layout.lessonCount();
+        }
+
+        public synchronized int percentage() {
+            return layout.lessonCount() == 0 ? 0 : (completed * 100) / layout.lessonCount();
+        }
+
+        public synchronized int completedOnDay(int day) {
+            return completedPerDay.getOrDefault(day, 0);
+        }
+
+        public int lessonsOnDay(int day) {
+            return layout.lessonsOnDay(day);
+        }
+
+        /**
+         * Whether every lesson scheduled for {@code day} is done, counting the
+         * not yet recorded {@code pendingLessonIds} as done too.
+         */
+        public synchronized boolean isDayComplete(int day, Collection<Long> pendingLessonIds) {
+            int total = layout.lessonsOnDay(day);
+            if (total == 0) {
+                return false;
+            }
+            int done = completedOnDay(day);
+            for (Long lessonId : pendingLessonIds) {
+                Integer ordinal = layout.ordinalOf(lessonId);
+                if (ordinal != null && !isSet(ordinal) && layout.days[ordinal] == day) {
+                    done++;
+                }
+            }
+            return done == total;
+        }
+
+        public boolean hasLesson(Long lessonId) {
+            return layout.ordinalOf(lessonId) != null;
+        }
+
+        public synchronized List<Long> completedLessonIds() {
+            List<Long> ids = new ArrayList<>(completed);
+            for (int w = 0; w < bits.length; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    int ordinal = (w << 6) + Long.numberOfTrailingZeros(word);
+                    ids.add(layout.lessonIds[ordinal]);
+                    word &= word - 1;
+                }
+            }
+            return ids;
+        }
+
+        private boolean isSet(int ordinal) {
+            return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+        }
+    }
+
+    public Progress get(Long enrollmentId, Long courseId) {
+        Layout layout = layout(courseId);
+        if (progresses.size() >= MAX_ENROLLMENTS) {
+            progresses.clear();
+        }
+        // Loading inside compute makes a concurrent markCompleted for the same
+        // enrollment wait for the load and then apply on top of it
+        return progresses.compute(enrollmentId, (id, current) -> {
+            if (current != null && current.layout == layout) {
+                return current;
+            }
+            Progress progress = new Progress(layout);
+            for (Long lessonId : progressRepo.findLessonIdsByEnrollmentId(id)) {
+                progress.mark(lessonId);
+            }
+            return progress;
+        });
+    }
+
+    /**
+     * Records a completion once the current transaction commits. Enrollments
+     * that are not cached pick it up from the database on their next load.
+     */
+    public void markCompleted(Long enrollmentId, Long lessonId) {
+        AfterCommit.run(() -> progresses.computeIfPresent(enrollmentId, (id, progress) -> {
+            progress.mark(lessonId);
+            return progress;
+        }));
+    }
+
+    /**
+     * Drops the cached layout after lessons were added, reordered or removed.
+     * Enrollment bitmaps built against the old layout are rebuilt lazily.
+     */
+    public void invalidateCourse(Long courseId) {
+        AfterCommit.run(() -> layouts.remove(courseId));
+    }
+
+    private Layout layout(Long courseId) {
+        Layout layout = layouts.get(courseId);
+        if (layout != null) {
+            return layout;
+        }
+        if (layouts.size() >= MAX_COURSES) {
+            layouts.clear();
+        }
+        List<Object[]> rows = lessonRepo.findLayoutRows(courseId);
+        long[] lessonIds = new long[rows.size()];
+        int[] days = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            lessonIds[i] = (Long) rows.get(i)[0];
+            Integer day = (Integer) rows.get(i)[1];
+            days[i] = day != null ? day : 1;
+        }
+        layout = new Layout(lessonIds, days);
+        Layout existing = layouts.putIfAbsent(courseId, layout);
+        return existing != null ? existing : layout;
+    }
+}
@@ -1,46 +1,52 @@
 package com.example.elearning.service;
 
 import java.util.List;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.elearning.dto.request.CreateLessonRequestDTO;
 import com.example.elearning.dto.response.LessonResponseDTO;
 import com.example.elearning.model.Course;
 import com.example.elearning.model.Lesson;
 import com.example.elearning.model.Role;
-import com.example.elearning.model.User;
 import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.EnrollmentRepository;
 import com.example.elearning.repository.LessonRepository;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 
 @Service
 public class LessonService {
         private final LessonRepository lessonRepo;
         private final CourseRepository courseRepo;
-        private final UserRepository userRepo;
         private final EnrollmentRepository enrollmentRepo;
+        private final CurrentUser currentUser;
+        private final SearchService searchService;
+        private final LessonProgressTracker progressTracker;
+        private final NotificationService notificationService;
 
         public LessonService(LessonRepository lessonRepo,
                         CourseRepository courseRepo,
-                        UserRepository userRepo, EnrollmentRepository enrollmentRepo) {
+                        EnrollmentRepository enrollmentRepo, CurrentUser currentUser,
+                        SearchService searchService, LessonProgressTracker progressTracker,
+                        NotificationService notificationService) {
                 this.lessonRepo = lessonRepo;
                 this.courseRepo = courseRepo;
-                this.userRepo = userRepo;
                 this.enrollmentRepo = enrollmentRepo;
+                this.currentUser = currentUser;
+                this.searchService = searchService;
+                this.progressTracker = progressTracker;
+                this.notificationService = notificationService;
         }
 
+        @Transactional
         public LessonResponseDTO addLesson(Long courseId, CreateLessonRequestDTO dto) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User user = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                if (user.getRole() != Role.TEACHER && user.getRole() != Role.ADMIN) {
+                Role role = currentUser.getRole();
+                Long userId = currentUser.getId();
+                if (role != Role.TEACHER && role != Role.ADMIN) {
                         throw new RuntimeException("Only teachers and admins can add lessons");
                 }
                 Course course = courseRepo.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
-                if (user.getRole() == Role.TEACHER && !course.getTeacher().getId().equals(user.getId())) {
+                if (role == Role.TEACHER && !course.getTeacher().getId().equals(userId)) {
                         throw new RuntimeException("You do not own this course");
                 }
                 Lesson lesson = new Lesson();
@@ -50,6 +56,13 @@ public class LessonService {
                 lesson.setDayNumber(dto.getDayNumber() != null ? dto.getDayNumber() : 1);
                 lesson.setCourse(course);
                 Lesson saved = lessonRepo.save(lesson);
+                searchService.lessonSaved(saved);
+                progressTracker.invalidateCourse(saved.getCourse().getId());
+                if (course.isPublished()) {
+                        notificationService.notifyAllById(enrollmentRepo.findStudentIdsByCourseId(courseId),
+                                        "New lesson in " + course.getTitle() + ": " + saved.getTitle(),
+                                        "LESSON", saved.getId());
+                }
                 return new LessonResponseDTO(
                                 saved.getId(),
                                 saved.getTitle(),
@@ -59,18 +72,16 @@ public class LessonService {
         }
 
         public List<LessonResponseDTO> getLessonsByCourse(Long courseId) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User user = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                Role role = currentUser.getRole();
+                Long userId = currentUser.getId();
                 Course course = courseRepo.findById(courseId)
                                 .orElseThrow(() -> new RuntimeException("Course not found"));
-                if (user.getRole() == Role.STUDENT) {
-                        enrollmentRepo.findByStudentIdAndCourseId(user.getId(), courseId)
+                if (role == Role.STUDENT) {
+                        enrollmentRepo.findByStudentIdAndCourseId(userId, courseId)
                                         .orElseThrow(() -> new RuntimeException("Not enrolled in this course"));
                 }
-                if (user.getRole() == Role.TEACHER &&
-                                !course.getTeacher().getId().equals(user.getId())) {
+                if (role == Role.TEACHER &&
+                                !course.getTeacher().getId().equals(userId)) {
                         throw new RuntimeException("You do not own this course");
                 }
                 return lessonRepo.findByCourseIdOrderByLessonOrderAsc(courseId)
@@ -85,15 +96,13 @@ public class LessonService {
         }
 
         public LessonResponseDTO updateLesson(Long lessonId, CreateLessonRequestDTO dto) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User user = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                Role role = currentUser.getRole();
+                Long userId = currentUser.getId();
                 Lesson lesson = lessonRepo.findById(lessonId)
                                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
-                if (user.getRole() == Role.TEACHER) {
+                if (role == Role.TEACHER) {
                         Course course = lesson.getCourse();
-                        if (!course.getTeacher().getId().equals(user.getId())) {
+                        if (!course.getTeacher().getId().equals(userId)) {
                                 throw new RuntimeException("You can only modify lessons from your own courses");
                         }
                 }
@@ -102,6 +111,8 @@ public class LessonService {
                 lesson.setLessonOrder(dto.getLessonOrder());
                 lesson.setDayNumber(dto.getDayNumber() != null ? dto.getDayNumber() : 1);
                 Lesson saved = lessonRepo.save(lesson);
+                searchService.lessonSaved(saved);
+                progressTracker.invalidateCourse(saved.getCourse().getId());
                 return new LessonResponseDTO(
                                 saved.getId(),
                                 saved.getTitle(),
@@ -111,18 +122,18 @@ public class LessonService {
         }
 
         public void deleteLesson(Long lessonId) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User user = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                Role role = currentUser.getRole();
+                Long userId = currentUser.getId();
                 Lesson lesson = lessonRepo.findById(lessonId)
                                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
-                if (user.getRole() == Role.TEACHER) {
+                if (role == Role.TEACHER) {
                         Course course = lesson.getCourse();
-                        if (!course.getTeacher().getId().equals(user.getId())) {
+                        if (!course.getTeacher().getId().equals(userId)) {
                                 throw new RuntimeException("You can only delete lessons from your own courses");
                         }
                 }
                 lessonRepo.delete(lesson);
+                searchService.lessonDeleted(lessonId);
+                progressTracker.invalidateCourse(lesson.getCourse().getId());
         }
 }
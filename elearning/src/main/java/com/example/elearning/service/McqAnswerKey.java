@@ -0,0 +1,116 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Immutable answer key of one MCQ task. Question ids are kept sorted, so a
+ * question's position in {@code questionIds} is its dense ordinal, and the
+ * correct answers are packed one byte per ordinal. Grading streams the
+ * submitted JSON straight against the key without building a map.
+ */
+public final class McqAnswerKey {
+    // Packed value of an answer that can never be correct
+    private static final byte NONE = 0;
+
+    private final Long courseId;
+    private final long[] questionIds;
+    private final byte[] answers;
+
+    private McqAnswerKey(Long courseId, long[] questionIds, byte[] answers) {
+        this.courseId = courseId;
+        this.questionIds = questionIds;
+        this.answers = answers;
+    }
+
+    /**
+     * Builds the key from (question id, correct answer) rows.
+     */
+    public static McqAnswerKey of(Long courseId, List<Object[]> rows) {
+        Object[][] sorted = rows.toArray(new Object[0][]);
+        Arrays.sort(sorted, (a, b) -> Long.compare(((Number) a[0]).longValue(), ((Number) b[0]).longValue()));
+        long[] ids = new long[sorted.length];
+        byte[] packed = new byte[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            ids[i] = ((Number) sorted[i][0]).longValue();
+            String answer = (String) sorted[i][1];
+            packed[i] = answer != null && answer.length() == 1 ? pack(answer.charAt(0)) : NONE;
+        }
+        return new McqAnswerKey(courseId, ids, packed);
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    /**
+     * Counts correct answers in a {@code {"questionId": "B", ...}} object.
+     * Unknown question ids are ignored; a repeated id counts its last answer.
+     */
+    public int grade(JsonFactory json, String answersJson) {
+        byte[] given = new byte[questionIds.length];
+        try (JsonParser parser = json.createParser(answersJson)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Invalid answers format");
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                int ordinal = ordinal(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    throw new RuntimeException("Invalid answers format");
+                }
+                if (ordinal >= 0) {
+                    given[ordinal] = value != JsonToken.VALUE_NULL && parser.getTextLength() == 1
+                            ? pack(parser.getTextCharacters()[parser.getTextOffset()])
+                            : NONE;
+                }
+            }
+            if (token != JsonToken.END_OBJECT) {
+                throw new RuntimeException("Invalid answers format");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Invalid answers format");
+        }
+        int correct = 0;
+        for (int i = 0; i < given.length; i++) {
+            if (given[i] != NONE && given[i] == answers[i]) {
+                correct++;
+            }
+        }
+        return correct;
+    }
+
+    /**
+     * Ordinal of the question whose id is written exactly as {@code name},
+     * or -1.
+     */
+    int ordinal(String name) {
+        int length = name.length();
+        if (length == 0 || length > 18 || (length > 1 && name.charAt(0) == '0')) {
+            return -1;
+        }
+        long id = 0;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        int ordinal = Arrays.binarySearch(questionIds, id);
+        return ordinal >= 0 ? ordinal : -1;
+    }
+
+    private static byte pack(char c) {
+        return c > 0 && c < 128 ? (byte) c : NONE;
+    }
+}
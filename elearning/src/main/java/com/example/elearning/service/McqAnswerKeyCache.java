@@ -0,0 +1,57 @@
+package com.example.elearning.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Answer keys per MCQ task, so repeated submissions during an exam are
+ * graded without reading the question table.
+ */
+@Component
+public class McqAnswerKeyCache {
+    private static final int MAX_TASKS = 5000;
+
+    private final Map<Long, McqAnswerKey> keys = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced with one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public McqAnswerKey get(Long taskId, Supplier<McqAnswerKey> loader) {
+        McqAnswerKey cached = keys.get(taskId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = evictions.get();
+        McqAnswerKey loaded = loader.get();
+        if (evictions.get() == stamp) {
+            if (keys.size() >= MAX_TASKS) {
+                keys.clear();
+            }
+            keys.put(taskId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the task's key once the current transaction commits.
+     */
+    public void evict(Long taskId) {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            keys.remove(taskId);
+        });
+    }
+
+    /**
+     * Drops the keys of every task in the course once the current
+     * transaction commits.
+     */
+    public void evictCourse(Long courseId) {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            keys.values().removeIf(key -> courseId.equals(key.getCourseId()));
+        });
+    }
+}
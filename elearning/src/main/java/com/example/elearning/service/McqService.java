@@ -4,32 +4,30 @@ import com.example.elearning.dto.request.SubmitMcqDTO;
 import com.example.elearning.dto.response.McqSubmissionResponseDTO;
 import com.example.elearning.model.*;
 import com.example.elearning.repository.*;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import com.example.elearning.security.CurrentUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.util.Map;
-import com.fasterxml.jackson.core.type.TypeReference;
 
 @Service
 public class McqService {
     private final McqSubmissionRepository submissionRepo;
     private final McqQuestionRepository questionRepo;
     private final TaskRepository taskRepo;
-    private final UserRepository userRepo;
+    private final CurrentUser currentUser;
+    private final McqAnswerKeyCache answerKeys;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public McqService(McqSubmissionRepository submissionRepo, McqQuestionRepository questionRepo,
-            TaskRepository taskRepo, UserRepository userRepo) {
+            TaskRepository taskRepo, CurrentUser currentUser, McqAnswerKeyCache answerKeys) {
         this.submissionRepo = submissionRepo;
         this.questionRepo = questionRepo;
         this.taskRepo = taskRepo;
-        this.userRepo = userRepo;
+        this.currentUser = currentUser;
+        this.answerKeys = answerKeys;
     }
 
     public McqSubmissionResponseDTO submitMcq(SubmitMcqDTO dto) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User student = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User student = currentUser.get();
 
         Task task = taskRepo.findById(dto.getTaskId())
                 .orElseThrow(() -> new RuntimeException("Task not found"));
@@ -52,28 +50,12 @@ public class McqService {
             currentAttemptNumber = lastAttempt + 1;
         }
 
-        // Get all questions
-        var questions = questionRepo.findByTaskIdOrderByQuestionOrderAsc(task.getId());
+        // Grade the submission against the cached answer key
+        McqAnswerKey key = answerKeys.get(task.getId(),
+                () -> McqAnswerKey.of(task.getCourse().getId(), questionRepo.findAnswerRows(task.getId())));
+        int correctCount = key.grade(objectMapper.getFactory(), dto.getAnswers());
 
-        // Parse answers
-        Map<String, String> answers;
-        try {
-            answers = objectMapper.readValue(dto.getAnswers(), new TypeReference<Map<String, String>>() {
-            });
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid answers format");
-        }
-
-        // Grade the submission
-        int correctCount = 0;
-        for (McqQuestion question : questions) {
-            String studentAnswer = answers.get(question.getId().toString());
-            if (studentAnswer != null && studentAnswer.equals(question.getCorrectAnswer())) {
-                correctCount++;
-            }
-        }
-
-        int totalQuestions = questions.size();
+        int totalQuestions = key.size();
         double percentage = totalQuestions > 0 ? (correctCount * 100.0 / totalQuestions) : 0;
         boolean passed = percentage >= 60;
 
@@ -103,12 +85,9 @@ public class McqService {
     }
 
     public McqSubmissionResponseDTO getSubmission(Long taskId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User student = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         // Get all submissions for this task and student
-        var submissions = submissionRepo.findByTaskIdAndStudentIdOrderByAttemptNumberDesc(taskId, student.getId());
+        var submissions = submissionRepo.findByTaskIdAndStudentIdOrderByAttemptNumberDesc(taskId,
+                currentUser.getId());
 
         if (submissions.isEmpty()) {
             throw new RuntimeException("No submission found");
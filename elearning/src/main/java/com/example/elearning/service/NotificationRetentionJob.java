@@ -0,0 +1,146 @@
+package com.example.elearning.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the notifications table bounded. Read notifications older than the
+ * retention age are deleted, and unread notifications of the same type
+ * about the same entity are merged into the newest one ("5 new
+ * submissions for task: X"). Every step runs in short transactions of at
+ * most {@code chunk-size} rows so user requests are never blocked for long.
+ */
+@Component
+public class NotificationRetentionJob {
+    private static final String DELETE_EXPIRED = "delete from notifications "
+            + "where is_read = true and created_at < ? order by id limit ?";
+    // Groups whose newest row was created before this run, so notifications
+    // arriving mid-run are left for the next one
+    private static final String FIND_DUPLICATES = "select user_id, type, related_entity_id, max(id) "
+            + "from notifications where is_read = false and related_entity_id is not null and created_at < ? "
+            + "group by user_id, type, related_entity_id having count(*) > 1 limit ?";
+    private static final String GROUP_TOTAL = "select coalesce(sum(coalesce(collapsed_count, 1)), 0) "
+            + "from notifications where user_id = ? and type = ? and related_entity_id = ? "
+            + "and is_read = false and id <= ?";
+    private static final String DELETE_MERGED = "delete from notifications where user_id = ? and type = ? "
+            + "and related_entity_id = ? and is_read = false and id < ?";
+    private static final String UPDATE_SURVIVOR = "update notifications set collapsed_count = ?, message = ? "
+            + "where id = ? and is_read = false";
+
+    private static final Pattern MERGED_PREFIX = Pattern.compile("^\\d+ new notifications\\. Latest: ");
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final NotificationUnreadCounter unreadCounter;
+    private final boolean enabled;
+    private final int readMaxAgeDays;
+    private final int chunkSize;
+    private final Counter expired;
+    private final Counter collapsed;
+
+    public NotificationRetentionJob(JdbcTemplate jdbc, TransactionTemplate tx,
+            NotificationUnreadCounter unreadCounter, MeterRegistry meterRegistry,
+            @Value("${notifications.retention.enabled:true}") boolean enabled,
+            @Value("${notifications.retention.read-max-age-days:90}") int readMaxAgeDays,
+            @Value("${notifications.retention.chunk-size:1000}") int chunkSize) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.unreadCounter = unreadCounter;
+        this.enabled = enabled;
+        this.readMaxAgeDays = readMaxAgeDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.expired = meterRegistry.counter("elearning.notifications.reclaimed", "reason", "expired");
+        this.collapsed = meterRegistry.counter("elearning.notifications.reclaimed", "reason", "collapsed");
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            long deleted = deleteExpired(startedAt.minusDays(readMaxAgeDays));
+            long merged = collapseDuplicates(startedAt);
+            if (deleted > 0 || merged > 0) {
+                System.out.println("Notification retention removed " + deleted + " read and merged "
+                        + merged + " duplicate notifications");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Notification retention failed: " + e.getMessage());
+        }
+    }
+
+    long deleteExpired(LocalDateTime cutoff) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        long total = 0;
+        int deleted;
+        do {
+            deleted = tx.execute(status -> jdbc.update(DELETE_EXPIRED, before, chunkSize));
+            total += deleted;
+            expired.increment(deleted);
+        } while (deleted == chunkSize);
+        return total;
+    }
+
+    long collapseDuplicates(LocalDateTime startedAt) {
+        Timestamp before = Timestamp.valueOf(startedAt);
+        long total = 0;
+        List<Object[]> groups;
+        do {
+            groups = jdbc.query(FIND_DUPLICATES,
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getLong(4) },
+                    before, chunkSize);
+            Set<Long> users = new HashSet<>();
+            List<Object[]> chunk = groups;
+            int merged = tx.execute(status -> {
+                int rows = 0;
+                for (Object[] group : chunk) {
+                    rows += merge((Long) group[0], (String) group[1], (Long) group[2], (Long) group[3]);
+                    users.add((Long) group[0]);
+                }
+                return rows;
+            });
+            // Unread badges changed for these users
+            users.forEach(unreadCounter::evict);
+            total += merged;
+            collapsed.increment(merged);
+        } while (groups.size() == chunkSize);
+        return total;
+    }
+
+    private int merge(Long userId, String type, Long relatedEntityId, Long survivorId) {
+        Long count = jdbc.queryForObject(GROUP_TOTAL, Long.class, userId, type, relatedEntityId, survivorId);
+        int deleted = jdbc.update(DELETE_MERGED, userId, type, relatedEntityId, survivorId);
+        if (deleted == 0) {
+            return 0;
+        }
+        jdbc.update(UPDATE_SURVIVOR, count, summary(type, relatedEntityId, count, survivorId), survivorId);
+        return deleted;
+    }
+
+    private String summary(String type, Long relatedEntityId, long count, Long survivorId) {
+        if ("SUBMISSION".equals(type)) {
+            List<String> titles = jdbc.queryForList("select title from tasks where id = ?", String.class,
+                    relatedEntityId);
+            if (!titles.isEmpty()) {
+                return count + " new submissions for task: " + titles.get(0);
+            }
+        }
+        String latest = jdbc.queryForObject("select message from notifications where id = ?", String.class,
+                survivorId);
+        // A survivor merged on an earlier run already carries a summary
+        return count + " new notifications. Latest: " + MERGED_PREFIX.matcher(latest).replaceFirst("");
+    }
+}
@@ -1,17 +1,52 @@
 package com.example.elearning.service;
 
+import com.example.elearning.dto.response.NotificationPageResponseDTO;
+import com.example.elearning.dto.response.NotificationResponseDTO;
 import com.example.elearning.model.Notification;
 import com.example.elearning.model.User;
 import com.example.elearning.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class NotificationService {
+    private static final int MAX_REPLAY = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String INSERT_NOTIFICATION = "insert into notifications "
+            + "(user_id, message, type, is_read, related_entity_id, created_at) values (?, ?, ?, false, ?, ?)";
+
     private final NotificationRepository repo;
+    private final NotificationStreamRegistry streams;
+    private final NotificationUnreadCounter unreadCounter;
+    private final JdbcTemplate jdbc;
+    private final int batchSize;
 
-    public NotificationService(NotificationRepository repo) {
+    public NotificationService(NotificationRepository repo, NotificationStreamRegistry streams,
+            NotificationUnreadCounter unreadCounter, JdbcTemplate jdbc,
+            @Value("${notifications.batch-size:500}") int batchSize) {
         this.repo = repo;
+        this.streams = streams;
+        this.unreadCounter = unreadCounter;
+        this.jdbc = jdbc;
+        this.batchSize = Math.max(1, batchSize);
     }
 
     public void notify(User user, String message, String type, Long relatedEntityId) {
@@ -21,16 +56,138 @@ public class NotificationService {
         n.setType(type);
         n.setRelatedEntityId(relatedEntityId);
         repo.save(n);
+        Long userId = user.getId();
+        NotificationResponseDTO dto = toDTO(n);
+        unreadCounter.adjust(userId, 1);
+        AfterCommit.run(() -> streams.publish(userId, dto));
+    }
+
+    public void notifyAll(Collection<User> users, String message, String type, Long relatedEntityId) {
+        notifyAllById(users.stream().map(User::getId).toList(), message, type, relatedEntityId);
+    }
+
+    /**
+     * Same notification for many users, written with JDBC batch inserts of
+     * {@code notifications.batch-size} rows in the caller's transaction.
+     */
+    @Transactional
+    public void notifyAllById(Collection<Long> userIds, String message, String type, Long relatedEntityId) {
+        List<Long> recipients = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (recipients.isEmpty()) {
+            return;
+        }
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp createdAtTs = Timestamp.valueOf(createdAt);
+        List<NotificationResponseDTO> created = new ArrayList<>(recipients.size());
+        for (int from = 0; from < recipients.size(); from += batchSize) {
+            List<Long> chunk = recipients.subList(from, Math.min(from + batchSize, recipients.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(INSERT_NOTIFICATION, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, chunk.get(i));
+                            ps.setString(2, message);
+                            ps.setString(3, type);
+                            ps.setObject(4, relatedEntityId);
+                            ps.setTimestamp(5, createdAtTs);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+            // With rewriteBatchedStatements the driver returns one key per row,
+            // in row order; anything else cannot be matched to recipients
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            boolean keysMatch = keyList.size() == chunk.size();
+            if (!keysMatch) {
+                System.err.println("Notification batch returned " + keyList.size() + " keys for "
+                        + chunk.size() + " rows; pushing without ids");
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = keysMatch ? ((Number) keyList.get(i).values().iterator().next()).longValue() : null;
+                created.add(new NotificationResponseDTO(id, message, type, false, relatedEntityId, createdAt));
+            }
+        }
+        unreadCounter.adjustAll(recipients, 1);
+        AfterCommit.run(() -> {
+            for (int i = 0; i < recipients.size(); i++) {
+                streams.publish(recipients.get(i), created.get(i));
+            }
+        });
     }
 
     public List<Notification> getUserNotifications(User user) {
         return repo.findByUserIdOrderByCreatedAtDesc(user.getId());
     }
 
-    public void markAsRead(Long id) {
-        repo.findById(id).ifPresent(n -> {
-            n.setRead(true);
-            repo.save(n);
-        });
+    /**
+     * Opens a push stream for the user. When the client reconnects with the
+     * id of the last event it saw, anything stored since is replayed first.
+     * Missed notifications are read only after the stream is registered.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return streams.subscribe(userId, () -> lastEventId == null ? List.of()
+                : repo.findByUserIdAndIdGreaterThanOrderByIdAsc(userId, lastEventId, PageRequest.of(0, MAX_REPLAY))
+                        .stream().map(NotificationService::toDTO).toList());
+    }
+
+    /**
+     * One page of the user's notifications, walked by keyset on
+     * (createdAt, id), together with the unread badge count.
+     */
+    public NotificationPageResponseDTO getFeed(Long userId, int limit, String cursor) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split("\\|");
+                cursorCreatedAt = LocalDateTime.parse(parts[0]);
+                cursorId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        // Fetch one extra row to know whether another page exists
+        List<NotificationResponseDTO> rows = repo.findFeedPage(userId, cursorCreatedAt, cursorId,
+                PageRequest.of(0, size + 1));
+        long unread = getUnreadCount(userId);
+        if (rows.size() <= size) {
+            return new NotificationPageResponseDTO(rows, null, unread);
+        }
+        List<NotificationResponseDTO> items = rows.subList(0, size);
+        NotificationResponseDTO last = items.get(size - 1);
+        String next = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (last.getCreatedAt() + "|" + last.getId()).getBytes(StandardCharsets.UTF_8));
+        return new NotificationPageResponseDTO(List.copyOf(items), next, unread);
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId, () -> repo.countByUserIdAndIsReadFalse(userId));
+    }
+
+    @Transactional
+    public void markAsRead(Long id, Long userId) {
+        if (repo.markRead(id, userId) > 0) {
+            unreadCounter.adjust(userId, -1);
+        }
+    }
+
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = repo.markAllRead(userId);
+        if (updated > 0) {
+            unreadCounter.evict(userId);
+        }
+        return updated;
+    }
+
+    static NotificationResponseDTO toDTO(Notification n) {
+        return new NotificationResponseDTO(n.getId(), n.getMessage(), n.getType(), n.isRead(),
+                n.getRelatedEntityId(), n.getCreatedAt());
     }
 }
@@ -0,0 +1,168 @@
+package com.example.elearning.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.example.elearning.dto.response.NotificationResponseDTO;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Open notification streams per user. Emitters are removed as soon as the
+ * client disconnects, times out or a write fails; a periodic heartbeat
+ * keeps proxies from closing idle connections and detects dead clients.
+ */
+@Component
+public class NotificationStreamRegistry {
+    private static final int MAX_STREAMS_PER_USER = 5;
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    public NotificationStreamRegistry(@Value("${notifications.stream.timeout-ms:1800000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * One emitter and the live notifications held back while its replay is
+     * being sent. Writes to the emitter are serialised on this object.
+     */
+    private static final class Stream {
+        final SseEmitter emitter;
+        List<NotificationResponseDTO> held = new ArrayList<>();
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * Opens a stream and replays the notifications returned by
+     * {@code missed}. The stream is registered before {@code missed} is
+     * read, so nothing published in between is lost; live notifications
+     * wait until the replay is sent and are skipped if already replayed.
+     */
+    public SseEmitter subscribe(Long userId, Supplier<List<NotificationResponseDTO>> missed) {
+        Stream stream = new Stream(newEmitter());
+        Set<Stream> userStreams = streams.computeIfAbsent(userId, id -> new CopyOnWriteArraySet<>());
+        if (userStreams.size() >= MAX_STREAMS_PER_USER) {
+            // Oldest tab loses its stream; it will reconnect and resume
+            userStreams.stream().findFirst().ifPresent(oldest -> {
+                remove(userId, oldest);
+                oldest.emitter.complete();
+            });
+        }
+        userStreams.add(stream);
+        Runnable cleanup = () -> remove(userId, stream);
+        stream.emitter.onCompletion(cleanup);
+        stream.emitter.onTimeout(cleanup);
+        stream.emitter.onError(e -> cleanup.run());
+
+        List<NotificationResponseDTO> replay;
+        try {
+            replay = missed.get();
+        } catch (RuntimeException e) {
+            remove(userId, stream);
+            throw e;
+        }
+        synchronized (stream) {
+            Set<Long> replayed = new HashSet<>();
+            boolean open = true;
+            for (NotificationResponseDTO notification : replay) {
+                if (!send(userId, stream, notification)) {
+                    open = false;
+                    break;
+                }
+                replayed.add(notification.getId());
+            }
+            if (open) {
+                for (NotificationResponseDTO notification : stream.held) {
+                    if (notification.getId() != null && replayed.contains(notification.getId())) {
+                        continue;
+                    }
+                    if (!send(userId, stream, notification)) {
+                        break;
+                    }
+                }
+            }
+            stream.held = null;
+        }
+        return stream.emitter;
+    }
+
+    public void publish(Long userId, NotificationResponseDTO notification) {
+        Set<Stream> userStreams = streams.get(userId);
+        if (userStreams == null) {
+            return;
+        }
+        for (Stream stream : userStreams) {
+            synchronized (stream) {
+                if (stream.held != null) {
+                    stream.held.add(notification);
+                } else {
+                    send(userId, stream, notification);
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        streams.forEach((userId, userStreams) -> {
+            for (Stream stream : userStreams) {
+                synchronized (stream) {
+                    try {
+                        stream.emitter.send(SseEmitter.event().comment("keepalive"));
+                    } catch (IOException | IllegalStateException e) {
+                        remove(userId, stream);
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void closeAll() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> stream.emitter.complete()));
+        streams.clear();
+    }
+
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private boolean send(Long userId, Stream stream, NotificationResponseDTO notification) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            // Without an id the browser keeps its last Last-Event-ID instead of sending "null"
+            if (notification.getId() != null) {
+                event.id(notification.getId().toString());
+            }
+            stream.emitter.send(event.name("notification").data(notification));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, stream);
+            return false;
+        }
+    }
+
+    private void remove(Long userId, Stream stream) {
+        streams.computeIfPresent(userId, (id, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+}
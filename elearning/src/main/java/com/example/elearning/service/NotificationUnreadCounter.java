@@ -0,0 +1,70 @@
+package com.example.elearning.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Unread notification count per user, loaded once with a count query and
+ * then kept current by the writes that change it.
+ */
+@Component
+public class NotificationUnreadCounter {
+    private static final int MAX_USERS = 10_000;
+
+    private final Map<Long, AtomicLong> counts = new ConcurrentHashMap<>();
+    // Bumped on every change so a load that raced with one is not cached
+    private final AtomicLong changes = new AtomicLong();
+
+    public long get(Long userId, LongSupplier loader) {
+        AtomicLong cached = counts.get(userId);
+        if (cached != null) {
+            return cached.get();
+        }
+        long stamp = changes.get();
+        long loaded = loader.getAsLong();
+        if (changes.get() == stamp) {
+            if (counts.size() >= MAX_USERS) {
+                counts.clear();
+            }
+            counts.putIfAbsent(userId, new AtomicLong(loaded));
+        }
+        return loaded;
+    }
+
+    /**
+     * Applies {@code delta} to a cached count once the current transaction
+     * commits. Users without a cached count are left to load it on demand.
+     */
+    public void adjust(Long userId, long delta) {
+        AfterCommit.run(() -> {
+            changes.incrementAndGet();
+            AtomicLong cached = counts.get(userId);
+            if (cached != null) {
+                cached.updateAndGet(count -> Math.max(0, count + delta));
+            }
+        });
+    }
+
+    public void adjustAll(Collection<Long> userIds, long delta) {
+        AfterCommit.run(() -> {
+            changes.incrementAndGet();
+            for (Long userId : userIds) {
+                AtomicLong cached = counts.get(userId);
+                if (cached != null) {
+                    cached.updateAndGet(count -> Math.max(0, count + delta));
+                }
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        AfterCommit.run(() -> {
+            changes.incrementAndGet();
+            counts.remove(userId);
+        });
+    }
+}
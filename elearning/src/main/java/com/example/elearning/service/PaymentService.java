@@ -1,7 +1,7 @@
 package com.example.elearning.service;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.elearning.event.PaymentSuccessEvent;
 import com.example.elearning.model.Course;
 import com.example.elearning.model.Payment;
@@ -9,23 +9,23 @@ import com.example.elearning.model.Role;
 import com.example.elearning.model.User;
 import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.PaymentRepository;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 @Service
 public class PaymentService {
 	private final PaymentRepository paymentRepo;
 	private final CourseRepository courseRepo;
-	private final UserRepository userRepo;
 	private final ApplicationEventPublisher publisher;
-	public PaymentService(PaymentRepository paymentRepo, CourseRepository courseRepo, UserRepository userRepo,
-			ApplicationEventPublisher publisher) {
+	private final CurrentUser currentUser;
+	public PaymentService(PaymentRepository paymentRepo, CourseRepository courseRepo,
+			ApplicationEventPublisher publisher, CurrentUser currentUser) {
 		this.paymentRepo = paymentRepo;
 		this.courseRepo = courseRepo;
-		this.userRepo = userRepo;
 		this.publisher = publisher;
+		this.currentUser = currentUser;
 	}
+	@Transactional
 	public void mockPay(Long courseId) {
-		String email = SecurityContextHolder.getContext().getAuthentication().getName();
-		User student = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
+		User student = currentUser.get();
 		if (student.getRole() != Role.STUDENT) {
 			throw new RuntimeException("Only students can make payments");
 		}
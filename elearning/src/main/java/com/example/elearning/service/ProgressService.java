@@ -1,16 +1,14 @@
 package com.example.elearning.service;
 
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import com.example.elearning.dto.response.ProgressResponseDTO;
 import com.example.elearning.model.Enrollment;
 import com.example.elearning.model.Lesson;
 import com.example.elearning.model.LessonProgress;
-import com.example.elearning.model.User;
 import com.example.elearning.repository.EnrollmentRepository;
 import com.example.elearning.repository.LessonProgressRepository;
 import com.example.elearning.repository.LessonRepository;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
@@ -19,60 +17,71 @@ public class ProgressService {
         private final LessonProgressRepository progressRepo;
         private final EnrollmentRepository enrollmentRepo;
         private final LessonRepository lessonRepo;
-        private final UserRepository userRepo;
+        private final CurrentUser currentUser;
+        private final LessonProgressTracker tracker;
+        private final ProgressWriteBehind writeBehind;
 
         public ProgressService(LessonProgressRepository progressRepo,
                         EnrollmentRepository enrollmentRepo,
                         LessonRepository lessonRepo,
-                        UserRepository userRepo) {
+                        CurrentUser currentUser,
+                        LessonProgressTracker tracker,
+                        ProgressWriteBehind writeBehind) {
                 this.progressRepo = progressRepo;
                 this.enrollmentRepo = enrollmentRepo;
                 this.lessonRepo = lessonRepo;
-                this.userRepo = userRepo;
+                this.currentUser = currentUser;
+                this.tracker = tracker;
+                this.writeBehind = writeBehind;
         }
 
         public void markLessonCompleted(Long courseId, Long lessonId) {
-                String email = SecurityContextHolder.getContext().getAuthentication().getName();
-                User student = userRepo.findByEmail(email).orElseThrow(() -> new RuntimeException("User not found"));
                 Enrollment enrollment = enrollmentRepo
-                                .findByStudentIdAndCourseId(student.getId(), courseId)
+                                .findByStudentIdAndCourseId(currentUser.getId(), courseId)
                                 .orElseThrow(() -> new RuntimeException("Not enrolled in course"));
-                if (progressRepo.existsByEnrollmentIdAndLessonId(enrollment.getId(), lessonId)) {
+                LessonProgressTracker.Progress tracked = tracker.get(enrollment.getId(), courseId);
+                if (tracked.isCompleted(lessonId)) {
                         return;
                 }
+                // Lessons outside the cached layout take the synchronous path, which validates them
+                if (writeBehind.isEnabled() && tracked.hasLesson(lessonId)
+                                && writeBehind.offer(enrollment.getId(), courseId, lessonId)) {
+                        return;
+                }
+                writeCompletion(enrollment, tracked, lessonId);
+        }
+
+        /**
+         * Writes one buffered completion directly. The write-behind buffer
+         * falls back to this for entries it could not flush on shutdown.
+         */
+        public void writeCompletion(Long enrollmentId, Long courseId, Long lessonId) {
+                Enrollment enrollment = enrollmentRepo.findById(enrollmentId).orElse(null);
+                if (enrollment == null || progressRepo.existsByEnrollmentIdAndLessonId(enrollmentId, lessonId)) {
+                        // Unenrolled since, or the batch did commit
+                        return;
+                }
+                writeCompletion(enrollment, tracker.get(enrollmentId, courseId), lessonId);
+        }
+
+        private void writeCompletion(Enrollment enrollment, LessonProgressTracker.Progress tracked, Long lessonId) {
                 Lesson lesson = lessonRepo.findById(lessonId)
                                 .orElseThrow(() -> new RuntimeException("Lesson not found"));
                 LessonProgress progress = new LessonProgress();
                 progress.setEnrollment(enrollment);
                 progress.setLesson(lesson);
                 progressRepo.save(progress);
+                tracker.markCompleted(enrollment.getId(), lessonId);
 
                 // Check if all lessons and tasks for current day are completed
-                updateCurrentDayIfCompleted(enrollment, courseId);
+                updateCurrentDayIfCompleted(enrollment, tracked, lessonId);
         }
 
-        private void updateCurrentDayIfCompleted(Enrollment enrollment, Long courseId) {
+        private void updateCurrentDayIfCompleted(Enrollment enrollment, LessonProgressTracker.Progress tracked,
+                        Long justCompletedLessonId) {
                 Integer currentDay = enrollment.getCurrentDay() != null ? enrollment.getCurrentDay() : 1;
-
-                // Get all lessons for current day
-                java.util.List<Lesson> lessonsForDay = lessonRepo.findByCourseId(courseId).stream()
-                                .filter(l -> {
-                                        Integer d = l.getDayNumber() != null ? l.getDayNumber() : 1;
-                                        return d.equals(currentDay);
-                                })
-                                .toList();
-
-                // Get completed lesson IDs
-                java.util.List<Long> completedLessonIds = progressRepo.findByEnrollmentId(enrollment.getId())
-                                .stream()
-                                .map(p -> p.getLesson().getId())
-                                .toList();
-
-                // Check if all lessons for current day are completed
-                boolean allLessonsCompleted = lessonsForDay.stream()
-                                .allMatch(l -> completedLessonIds.contains(l.getId()));
-
-                if (allLessonsCompleted && !lessonsForDay.isEmpty()) {
+                // The new completion only reaches the bitmap after commit, so count it here
+                if (tracked.isDayComplete(currentDay, java.util.List.of(justCompletedLessonId))) {
                         // Advance to next day
                         enrollment.setCurrentDay(currentDay + 1);
                         enrollmentRepo.save(enrollment);
@@ -80,19 +89,23 @@ public class ProgressService {
         }
 
         public ProgressResponseDTO getProgress(Long courseId) {
-                String email = SecurityContextHolder.getContext()
-                                .getAuthentication().getName();
-                User student = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
                 Enrollment enrollment = enrollmentRepo
-                                .findByStudentIdAndCourseId(student.getId(), courseId)
+                                .findByStudentIdAndCourseId(currentUser.getId(), courseId)
                                 .orElseThrow(() -> new RuntimeException("Not enrolled in this course"));
-                java.util.List<LessonProgress> progresses = progressRepo.findByEnrollmentId(enrollment.getId());
-                int completed = progresses.size();
-                java.util.List<Long> completedIds = progresses.stream()
-                                .map(p -> p.getLesson().getId())
-                                .toList();
-                int total = lessonRepo.findByCourseId(courseId).size();
+                LessonProgressTracker.Progress tracked = tracker.get(enrollment.getId(), courseId);
+                java.util.List<Long> completedIds = tracked.completedLessonIds();
+                // Overlay completions still waiting in the write-behind buffer
+                java.util.Set<Long> pending = writeBehind.pendingLessons(enrollment.getId());
+                if (!pending.isEmpty()) {
+                        completedIds = new java.util.ArrayList<>(completedIds);
+                        for (Long lessonId : pending) {
+                                if (tracked.hasLesson(lessonId) && !tracked.isCompleted(lessonId)) {
+                                        completedIds.add(lessonId);
+                                }
+                        }
+                }
+                int completed = completedIds.size();
+                int total = tracked.totalCount();
                 int percent = total == 0 ? 0 : (completed * 100) / total;
                 java.time.LocalDateTime enrolledAt = enrollment.getEnrolledAt() != null ? enrollment.getEnrolledAt()
                                 : java.time.LocalDateTime.now();
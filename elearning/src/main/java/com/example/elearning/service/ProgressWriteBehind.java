@@ -0,0 +1,304 @@
+package com.example.elearning.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Optional write-behind buffer for lesson completions. Completions are
+ * deduplicated per (enrollment, lesson) in a bounded in-memory queue and
+ * written in JDBC batches on a schedule or once the batch size is reached.
+ * Entries stay visible through {@link #pendingLessons(Long)} until their
+ * batch has committed and the progress bitmaps were updated, so reads see
+ * their own writes. On shutdown the queue is drained with retries until
+ * {@code progress.write-behind.shutdown-timeout-ms}; anything still queued
+ * then is written one by one through {@link ProgressService}.
+ */
+@Component
+public class ProgressWriteBehind {
+    private static final String INSERT_PROGRESS = "insert ignore into lesson_progress "
+            + "(enrollment_id, lesson_id, completed, completed_at) values (?, ?, true, ?)";
+
+    private record Key(Long enrollmentId, Long lessonId) {
+    }
+
+    private record Completion(Long enrollmentId, Long courseId, Long lessonId, LocalDateTime completedAt) {
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final LessonProgressTracker tracker;
+    // Looked up lazily: ProgressService itself depends on this buffer
+    private final ObjectProvider<ProgressService> progressService;
+    private final boolean enabled;
+    private final int capacity;
+    private final int batchSize;
+    private final long shutdownTimeoutMs;
+
+    // Guarded by this
+    private final LinkedHashMap<Key, Completion> pending = new LinkedHashMap<>();
+    private final Set<Key> inFlight = new HashSet<>();
+    private final Map<Long, Set<Long>> pendingByEnrollment = new HashMap<>();
+    private boolean closed;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService flusher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "progress-write-behind");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ProgressWriteBehind(JdbcTemplate jdbc, TransactionTemplate tx, LessonProgressTracker tracker,
+            ObjectProvider<ProgressService> progressService, MeterRegistry meterRegistry,
+            @Value("${progress.write-behind.enabled:false}") boolean enabled,
+            @Value("${progress.write-behind.capacity:10000}") int capacity,
+            @Value("${progress.write-behind.batch-size:500}") int batchSize,
+            @Value("${progress.write-behind.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.tracker = tracker;
+        this.progressService = progressService;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        meterRegistry.gauge("elearning.progress.pending", this, ProgressWriteBehind::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a completion. Returns {@code false} when the buffer is disabled,
+     * full or shutting down; the caller then writes synchronously.
+     */
+    public boolean offer(Long enrollmentId, Long courseId, Long lessonId) {
+        if (!enabled) {
+            return false;
+        }
+        int size;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            Key key = new Key(enrollmentId, lessonId);
+            if (pending.containsKey(key)) {
+                return true;
+            }
+            if (pending.size() >= capacity) {
+                return false;
+            }
+            pending.put(key, new Completion(enrollmentId, courseId, lessonId, LocalDateTime.now()));
+            pendingByEnrollment.computeIfAbsent(enrollmentId, id -> new HashSet<>()).add(lessonId);
+            size = pending.size() - inFlight.size();
+        }
+        if (size >= batchSize) {
+            try {
+                flusher.execute(this::flush);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the final flush picks it up
+            }
+        }
+        return true;
+    }
+
+    public synchronized boolean isPending(Long enrollmentId, Long lessonId) {
+        return pending.containsKey(new Key(enrollmentId, lessonId));
+    }
+
+    /**
+     * Lessons of the enrollment that were accepted but may not be readable
+     * from the database or the progress bitmap yet.
+     */
+    public synchronized Set<Long> pendingLessons(Long enrollmentId) {
+        Set<Long> lessons = pendingByEnrollment.get(enrollmentId);
+        return lessons == null ? Set.of() : Set.copyOf(lessons);
+    }
+
+    public synchronized int size() {
+        return pending.size();
+    }
+
+    @Scheduled(fixedDelayString = "${progress.write-behind.flush-interval-ms:500}")
+    public void flush() {
+        if (enabled) {
+            drain();
+        }
+    }
+
+    /**
+     * Writes batches until the queue is empty or a batch fails; a failed
+     * batch stays queued for the next attempt.
+     *
+     * @return whether every batch was written
+     */
+    private boolean drain() {
+        flushLock.lock();
+        try {
+            List<Completion> batch;
+            while (!(batch = nextBatch()).isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    release(batch, false);
+                    System.err.println("Failed to flush " + batch.size() + " lesson completions: " + e.getMessage());
+                    return false;
+                }
+                release(batch, true);
+            }
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Runs while every other bean is still available. New completions go
+     * the synchronous way from here on; queued ones are retried with
+     * backoff and, past the deadline, written individually.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flusher.shutdown();
+        if (!enabled) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMs;
+        long backoff = 100;
+        while (!drain() && System.currentTimeMillis() + backoff < deadline) {
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff = Math.min(backoff * 2, 2000);
+        }
+        writeRemainingOneByOne();
+    }
+
+    private void writeRemainingOneByOne() {
+        flushLock.lock();
+        try {
+            List<Completion> remaining;
+            synchronized (this) {
+                remaining = new ArrayList<>(pending.values());
+            }
+            if (remaining.isEmpty()) {
+                return;
+            }
+            System.err.println("Writing " + remaining.size() + " buffered lesson completions individually");
+            ProgressService fallback = progressService.getObject();
+            for (Completion c : remaining) {
+                try {
+                    fallback.writeCompletion(c.enrollmentId(), c.courseId(), c.lessonId());
+                    release(List.of(c), true);
+                } catch (RuntimeException e) {
+                    System.err.println("Lost lesson completion enrollment=" + c.enrollmentId() + " lesson="
+                            + c.lessonId() + " at " + c.completedAt() + ": " + e.getMessage());
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private synchronized List<Completion> nextBatch() {
+        List<Completion> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (Map.Entry<Key, Completion> e : pending.entrySet()) {
+            if (batch.size() == batchSize) {
+                break;
+            }
+            if (inFlight.add(e.getKey())) {
+                batch.add(e.getValue());
+            }
+        }
+        return batch;
+    }
+
+    private synchronized void release(List<Completion> batch, boolean written) {
+        for (Completion c : batch) {
+            Key key = new Key(c.enrollmentId(), c.lessonId());
+            inFlight.remove(key);
+            if (written) {
+                pending.remove(key);
+                Set<Long> lessons = pendingByEnrollment.get(c.enrollmentId());
+                if (lessons != null && lessons.remove(c.lessonId()) && lessons.isEmpty()) {
+                    pendingByEnrollment.remove(c.enrollmentId());
+                }
+            }
+        }
+    }
+
+    private void write(List<Completion> batch) {
+        tx.executeWithoutResult(status -> {
+            jdbc.batchUpdate(INSERT_PROGRESS, batch, batch.size(), (ps, c) -> {
+                ps.setLong(1, c.enrollmentId());
+                ps.setLong(2, c.lessonId());
+                ps.setTimestamp(3, Timestamp.valueOf(c.completedAt()));
+            });
+            advanceDays(batch);
+            for (Completion c : batch) {
+                tracker.markCompleted(c.enrollmentId(), c.lessonId());
+            }
+        });
+    }
+
+    /**
+     * Same rule as the synchronous path: each completion may move the
+     * enrollment one day forward if its current day is now fully done.
+     */
+    private void advanceDays(List<Completion> batch) {
+        Map<Long, List<Completion>> byEnrollment = new LinkedHashMap<>();
+        for (Completion c : batch) {
+            byEnrollment.computeIfAbsent(c.enrollmentId(), id -> new ArrayList<>()).add(c);
+        }
+        List<Object[]> updates = new ArrayList<>();
+        for (Map.Entry<Long, List<Completion>> e : byEnrollment.entrySet()) {
+            List<Integer> days = jdbc.queryForList("select current_day from enrollments where id = ?",
+                    Integer.class, e.getKey());
+            if (days.isEmpty()) {
+                continue;
+            }
+            int startDay = days.get(0) != null ? days.get(0) : 1;
+            LessonProgressTracker.Progress progress = tracker.get(e.getKey(), e.getValue().get(0).courseId());
+            List<Long> lessonIds = e.getValue().stream().map(Completion::lessonId).toList();
+            int day = startDay;
+            for (int i = 0; i < lessonIds.size() && progress.isDayComplete(day, lessonIds); i++) {
+                day++;
+            }
+            if (day != startDay) {
+                updates.add(new Object[] { day, e.getKey(), startDay });
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbc.batchUpdate("update enrollments set current_day = ? where id = ? and current_day = ?", updates);
+        }
+    }
+}
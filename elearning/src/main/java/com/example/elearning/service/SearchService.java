@@ -0,0 +1,118 @@
+package com.example.elearning.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import com.example.elearning.dto.response.SearchResultDTO;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Lesson;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.search.InvertedIndex;
+
+/**
+ * Full-text search over course titles/descriptions and lesson titles. The
+ * index lives in memory, is built once at startup and kept current by the
+ * course and lesson services. Only published courses and their lessons are
+ * returned.
+ */
+@Service
+public class SearchService {
+    private static final int MAX_RESULTS = 50;
+
+    public enum Type {
+        COURSE, LESSON
+    }
+
+    record Key(Type type, Long id) {
+    }
+
+    record Entry(Type type, Long id, Long courseId, String title) {
+    }
+
+    private final CourseRepository courseRepo;
+    private final LessonRepository lessonRepo;
+    private final InvertedIndex<Key, Entry> index = new InvertedIndex<>();
+    private final Set<Long> publishedCourses = ConcurrentHashMap.newKeySet();
+
+    public SearchService(CourseRepository courseRepo, LessonRepository lessonRepo) {
+        this.courseRepo = courseRepo;
+        this.lessonRepo = lessonRepo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.clear();
+        publishedCourses.clear();
+        for (Object[] row : courseRepo.findSearchRows()) {
+            putCourse((Long) row[0], (String) row[1], (String) row[2], (Boolean) row[3]);
+        }
+        for (Object[] row : lessonRepo.findSearchRows()) {
+            putLesson((Long) row[0], (String) row[1], (Long) row[2]);
+        }
+        System.out.println("Search index built with " + index.size() + " documents");
+    }
+
+    public List<SearchResultDTO> search(String query, Integer limit) {
+        int size = limit == null ? 20 : Math.max(1, Math.min(limit, MAX_RESULTS));
+        return index.search(query, size, e -> publishedCourses.contains(e.courseId()))
+                .stream()
+                .map(h -> new SearchResultDTO(h.value().type().name(), h.value().id(), h.value().courseId(),
+                        h.value().title(), h.score()))
+                .toList();
+    }
+
+    public void courseSaved(Course course) {
+        Long id = course.getId();
+        String title = course.getTitle();
+        String description = course.getDescription();
+        boolean published = course.isPublished();
+        AfterCommit.run(() -> putCourse(id, title, description, published));
+    }
+
+    public void courseDeleted(Long courseId) {
+        AfterCommit.run(() -> {
+            publishedCourses.remove(courseId);
+            index.removeIf(e -> e.courseId().equals(courseId));
+        });
+    }
+
+    public void lessonSaved(Lesson lesson) {
+        Long id = lesson.getId();
+        String title = lesson.getTitle();
+        Long courseId = lesson.getCourse().getId();
+        AfterCommit.run(() -> putLesson(id, title, courseId));
+    }
+
+    /**
+     * Indexes every lesson of a course written in bulk, once the import
+     * transaction commits.
+     */
+    public void courseLessonsImported(Long courseId) {
+        AfterCommit.run(() -> {
+            for (Object[] row : lessonRepo.findSearchRowsByCourseId(courseId)) {
+                putLesson((Long) row[0], (String) row[1], courseId);
+            }
+        });
+    }
+
+    public void lessonDeleted(Long lessonId) {
+        AfterCommit.run(() -> index.remove(new Key(Type.LESSON, lessonId)));
+    }
+
+    private void putCourse(Long id, String title, String description, Boolean published) {
+        if (Boolean.TRUE.equals(published)) {
+            publishedCourses.add(id);
+        } else {
+            publishedCourses.remove(id);
+        }
+        index.put(new Key(Type.COURSE, id), new Entry(Type.COURSE, id, id, title), title, description);
+    }
+
+    private void putLesson(Long id, String title, Long courseId) {
+        index.put(new Key(Type.LESSON, id), new Entry(Type.LESSON, id, courseId, title), title, null);
+    }
+}
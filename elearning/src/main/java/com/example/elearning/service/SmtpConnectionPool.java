@@ -0,0 +1,87 @@
+package com.example.elearning.service;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+
+/**
+ * Keeps up to {@code size} authenticated SMTP connections open so
+ * consecutive messages skip the connect, TLS handshake and AUTH. A
+ * connection that dropped is discarded and a new one opened on the next
+ * borrow. A borrow waits at most {@code borrowTimeoutMs} for a free
+ * connection.
+ */
+public class SmtpConnectionPool {
+    private final JavaMailSenderImpl sender;
+    private final BlockingQueue<Transport> idle;
+    private final Semaphore permits;
+    private final long borrowTimeoutMs;
+
+    public SmtpConnectionPool(JavaMailSenderImpl sender, int size, long borrowTimeoutMs) {
+        this.sender = sender;
+        this.idle = new LinkedBlockingQueue<>(size);
+        this.permits = new Semaphore(size);
+        this.borrowTimeoutMs = borrowTimeoutMs;
+    }
+
+    public Transport borrow() throws MessagingException {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("No SMTP connection free within " + borrowTimeoutMs + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+        Transport transport = idle.poll();
+        try {
+            if (transport == null || !transport.isConnected()) {
+                closeQuietly(transport);
+                transport = sender.getSession().getTransport(protocol());
+                transport.connect(sender.getHost(), sender.getPort(), sender.getUsername(), sender.getPassword());
+            }
+            return transport;
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public void release(Transport transport, boolean reusable) {
+        if (!reusable || !idle.offer(transport)) {
+            closeQuietly(transport);
+        }
+        permits.release();
+    }
+
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    // Same fallback as JavaMailSenderImpl when no protocol was configured
+    private String protocol() {
+        String protocol = sender.getProtocol();
+        if (protocol == null) {
+            protocol = sender.getSession().getProperty("mail.transport.protocol");
+        }
+        return protocol != null ? protocol : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            // Already broken
+        }
+    }
+}
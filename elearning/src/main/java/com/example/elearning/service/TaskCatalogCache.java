@@ -0,0 +1,56 @@
+package com.example.elearning.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import com.example.elearning.dto.TaskDTO;
+
+/**
+ * Prebuilt task lists per course, one with MCQ answers stripped for
+ * students and one complete for teachers and admins. The cached DTOs are
+ * shared and must be copied before any per-user field is set.
+ */
+@Component
+public class TaskCatalogCache {
+    private static final int MAX_COURSES = 500;
+
+    public record Views(List<TaskDTO> student, List<TaskDTO> staff) {
+    }
+
+    private final Map<Long, Views> views = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a load that raced with one is not cached
+    private final AtomicLong evictions = new AtomicLong();
+
+    public Views get(Long courseId, Supplier<Views> loader) {
+        Views cached = views.get(courseId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = evictions.get();
+        Views loaded = loader.get();
+        if (evictions.get() == stamp) {
+            if (views.size() >= MAX_COURSES) {
+                views.clear();
+            }
+            views.put(courseId, loaded);
+            // An eviction that landed between the check and the put must still win
+            if (evictions.get() != stamp) {
+                views.remove(courseId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the course's views once the current transaction commits.
+     */
+    public void evict(Long courseId) {
+        AfterCommit.run(() -> {
+            evictions.incrementAndGet();
+            views.remove(courseId);
+        });
+    }
+}
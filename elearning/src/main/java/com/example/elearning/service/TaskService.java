@@ -9,14 +9,14 @@ import com.example.elearning.model.User;
 import com.example.elearning.repository.CourseRepository;
 import com.example.elearning.repository.TaskCompletionRepository;
 import com.example.elearning.repository.TaskRepository;
-import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.elearning.model.TestCase;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,9 +28,13 @@ public class TaskService {
     @Autowired
     private CourseRepository courseRepository;
     @Autowired
-    private UserRepository userRepository;
+    private CurrentUser currentUser;
     @Autowired
     private com.example.elearning.repository.McqQuestionRepository mcqQuestionRepository;
+    @Autowired
+    private TaskCatalogCache taskCatalogCache;
+    @Autowired
+    private McqAnswerKeyCache mcqAnswerKeyCache;
 
     @Transactional
     public Task createTask(Long courseId, CreateTaskRequest request) {
@@ -87,72 +91,100 @@ public class TaskService {
             savedTask.setMcqQuestions(mcqQuestions);
         }
 
+        taskCatalogCache.evict(courseId);
         return savedTask;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskDTO> getTasksForCourse(Long courseId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        List<Task> tasks = taskRepository.findByCourseId(courseId);
-        return tasks.stream().map(task -> {
-            TaskDTO dto = new TaskDTO();
-            dto.setId(task.getId());
-            dto.setTitle(task.getTitle());
-            dto.setDescription(task.getDescription());
-            dto.setCreatedAt(task.getCreatedAt());
-            dto.setDayNumber(task.getDayNumber());
-            dto.setTaskType(task.getTaskType().toString());
-
-            boolean isCompleted = taskCompletionRepository.existsByTaskAndUser(task, user);
-            dto.setCompleted(isCompleted);
-
-            // Include CODING task fields
-            if (task.getTaskType() == com.example.elearning.model.TaskType.CODING) {
-                dto.setStarterCode(task.getStarterCode());
-                if (task.getTestCases() != null) {
-                    List<com.example.elearning.dto.TestCaseDTO> testCaseDTOs = task.getTestCases().stream().map(tc -> {
-                        com.example.elearning.dto.TestCaseDTO tcDto = new com.example.elearning.dto.TestCaseDTO();
-                        tcDto.setInput(tc.getInput());
-                        tcDto.setExpectedOutput(tc.getExpectedOutput());
-                        return tcDto;
-                    }).collect(Collectors.toList());
-                    dto.setTestCases(testCaseDTOs);
-                }
+        com.example.elearning.model.Role role = currentUser.getRole();
+        TaskCatalogCache.Views views = taskCatalogCache.get(courseId, () -> buildViews(courseId));
+        List<TaskDTO> catalog = role == com.example.elearning.model.Role.TEACHER
+                || role == com.example.elearning.model.Role.ADMIN ? views.staff() : views.student();
+        Set<Long> completedTaskIds = taskCompletionRepository.findCompletedTaskIds(currentUser.getId(), courseId);
+        return catalog.stream()
+                .map(cached -> copyWithCompletion(cached, completedTaskIds.contains(cached.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private TaskCatalogCache.Views buildViews(Long courseId) {
+        List<Task> tasks = taskRepository.findByCourseIdWithTestCases(courseId);
+        if (!tasks.isEmpty()) {
+            // Initializes mcqQuestions on the same managed instances
+            taskRepository.findByCourseIdWithMcqQuestions(courseId);
+        }
+        return new TaskCatalogCache.Views(
+                tasks.stream().map(task -> mapToDTO(task, false)).toList(),
+                tasks.stream().map(task -> mapToDTO(task, true)).toList());
+    }
+
+    private TaskDTO mapToDTO(Task task, boolean includeAnswers) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setDayNumber(task.getDayNumber());
+        dto.setTaskType(task.getTaskType().toString());
+
+        // Include CODING task fields
+        if (task.getTaskType() == com.example.elearning.model.TaskType.CODING) {
+            dto.setStarterCode(task.getStarterCode());
+            if (task.getTestCases() != null) {
+                List<com.example.elearning.dto.TestCaseDTO> testCaseDTOs = task.getTestCases().stream().map(tc -> {
+                    com.example.elearning.dto.TestCaseDTO tcDto = new com.example.elearning.dto.TestCaseDTO();
+                    tcDto.setInput(tc.getInput());
+                    tcDto.setExpectedOutput(tc.getExpectedOutput());
+                    return tcDto;
+                }).toList();
+                dto.setTestCases(testCaseDTOs);
             }
+        }
 
-            // Include MCQ task fields
-            if (task.getTaskType() == com.example.elearning.model.TaskType.MCQ) {
-                if (task.getMcqQuestions() != null) {
-                    List<com.example.elearning.dto.McqQuestionDTO> mcqDTOs = task.getMcqQuestions().stream().map(mq -> {
-                        com.example.elearning.dto.McqQuestionDTO mqDto = new com.example.elearning.dto.McqQuestionDTO();
-                        mqDto.setId(mq.getId()); // Include question ID for frontend tracking
-                        mqDto.setQuestion(mq.getQuestion());
-                        mqDto.setOptionA(mq.getOptionA());
-                        mqDto.setOptionB(mq.getOptionB());
-                        mqDto.setOptionC(mq.getOptionC());
-                        mqDto.setOptionD(mq.getOptionD());
-                        // Don't send correct answer to students
-                        if (user.getRole() == com.example.elearning.model.Role.TEACHER ||
-                                user.getRole() == com.example.elearning.model.Role.ADMIN) {
-                            mqDto.setCorrectAnswer(mq.getCorrectAnswer());
-                        }
-                        mqDto.setQuestionOrder(mq.getQuestionOrder());
-                        return mqDto;
-                    }).collect(Collectors.toList());
-                    dto.setMcqQuestions(mcqDTOs);
-                }
+        // Include MCQ task fields
+        if (task.getTaskType() == com.example.elearning.model.TaskType.MCQ) {
+            if (task.getMcqQuestions() != null) {
+                List<com.example.elearning.dto.McqQuestionDTO> mcqDTOs = task.getMcqQuestions().stream().map(mq -> {
+                    com.example.elearning.dto.McqQuestionDTO mqDto = new com.example.elearning.dto.McqQuestionDTO();
+                    mqDto.setId(mq.getId()); // Include question ID for frontend tracking
+                    mqDto.setQuestion(mq.getQuestion());
+                    mqDto.setOptionA(mq.getOptionA());
+                    mqDto.setOptionB(mq.getOptionB());
+                    mqDto.setOptionC(mq.getOptionC());
+                    mqDto.setOptionD(mq.getOptionD());
+                    // Don't send correct answer to students
+                    if (includeAnswers) {
+                        mqDto.setCorrectAnswer(mq.getCorrectAnswer());
+                    }
+                    mqDto.setQuestionOrder(mq.getQuestionOrder());
+                    return mqDto;
+                }).toList();
+                dto.setMcqQuestions(mcqDTOs);
             }
+        }
+
+        return dto;
+    }
 
-            return dto;
-        }).collect(Collectors.toList());
+    // Cached DTOs are shared between requests; nested lists are immutable
+    private TaskDTO copyWithCompletion(TaskDTO cached, boolean completed) {
+        TaskDTO dto = new TaskDTO();
+        dto.setId(cached.getId());
+        dto.setTitle(cached.getTitle());
+        dto.setDescription(cached.getDescription());
+        dto.setCreatedAt(cached.getCreatedAt());
+        dto.setDayNumber(cached.getDayNumber());
+        dto.setTaskType(cached.getTaskType());
+        dto.setStarterCode(cached.getStarterCode());
+        dto.setTestCases(cached.getTestCases());
+        dto.setMcqQuestions(cached.getMcqQuestions());
+        dto.setCompleted(completed);
+        return dto;
     }
 
     @Transactional
     public void markTaskComplete(Long taskId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
         if (!taskCompletionRepository.existsByTaskAndUser(task, user)) {
@@ -166,17 +198,16 @@ public class TaskService {
 
     @Transactional
     public void deleteTask(Long taskId) {
-        String email = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new RuntimeException("Task not found"));
-        if (user.getRole() == com.example.elearning.model.Role.TEACHER) {
+        if (currentUser.getRole() == com.example.elearning.model.Role.TEACHER) {
             Course course = task.getCourse();
-            if (!course.getTeacher().getId().equals(user.getId())) {
+            if (!course.getTeacher().getId().equals(currentUser.getId())) {
                 throw new RuntimeException("You can only delete tasks from your own courses");
             }
         }
         taskRepository.delete(task);
+        taskCatalogCache.evict(task.getCourse().getId());
+        mcqAnswerKeyCache.evict(taskId);
     }
 }
@@ -4,41 +4,39 @@ import com.example.elearning.dto.request.ReviewTheorySubmissionDTO;
 import com.example.elearning.dto.response.TheorySubmissionResponseDTO;
 import com.example.elearning.model.*;
 import com.example.elearning.repository.*;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import com.example.elearning.security.CurrentUser;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class TheoryService {
         private final TheorySubmissionRepository submissionRepo;
         private final TaskRepository taskRepo;
-        private final UserRepository userRepo;
         private final NotificationService notificationService;
+        private final CurrentUser currentUser;
+        private final BlobStore blobStore;
 
-        @Value("${file.upload-dir:uploads/theory}")
-        private String uploadDir;
+        public record SubmissionFile(Path path, String fileName) {
+        }
 
         public TheoryService(TheorySubmissionRepository submissionRepo, TaskRepository taskRepo,
-                        UserRepository userRepo, NotificationService notificationService) {
+                        NotificationService notificationService, CurrentUser currentUser, BlobStore blobStore) {
                 this.submissionRepo = submissionRepo;
                 this.taskRepo = taskRepo;
-                this.userRepo = userRepo;
                 this.notificationService = notificationService;
+                this.currentUser = currentUser;
+                this.blobStore = blobStore;
         }
 
         public TheorySubmissionResponseDTO submitTheory(Long taskId, MultipartFile file) {
-                String email = SecurityContextHolder.getContext().getAuthentication().getName();
-                User student = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                User student = currentUser.get();
 
                 Task task = taskRepo.findById(taskId)
                                 .orElseThrow(() -> new RuntimeException("Task not found"));
@@ -55,14 +53,9 @@ public class TheoryService {
 
                 // Save file
                 String fileName = file.getOriginalFilename();
-                String fileExtension = fileName.substring(fileName.lastIndexOf("."));
-                String uniqueFileName = UUID.randomUUID().toString() + fileExtension;
-
-                Path uploadPath = Paths.get(uploadDir, taskId.toString(), student.getId().toString());
-                try {
-                        Files.createDirectories(uploadPath);
-                        Path filePath = uploadPath.resolve(uniqueFileName);
-                        Files.copy(file.getInputStream(), filePath);
+                String hash;
+                try (InputStream in = file.getInputStream()) {
+                        hash = blobStore.put(in);
                 } catch (IOException e) {
                         throw new RuntimeException("Failed to save file: " + e.getMessage());
                 }
@@ -72,7 +65,7 @@ public class TheoryService {
                 submission.setTask(task);
                 submission.setStudent(student);
                 submission.setFileName(fileName);
-                submission.setFileUrl(uploadPath.resolve(uniqueFileName).toString());
+                submission.setFileUrl("blob:" + hash);
                 submission.setStatus(TheorySubmission.SubmissionStatus.PENDING);
 
                 TheorySubmission saved = submissionRepo.save(submission);
@@ -86,11 +79,7 @@ public class TheoryService {
         }
 
         public TheorySubmissionResponseDTO getStudentSubmission(Long taskId) {
-                String email = SecurityContextHolder.getContext().getAuthentication().getName();
-                User student = userRepo.findByEmail(email)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                TheorySubmission submission = submissionRepo.findByTaskIdAndStudentId(taskId, student.getId())
+                TheorySubmission submission = submissionRepo.findByTaskIdAndStudentId(taskId, currentUser.getId())
                                 .orElseThrow(() -> new RuntimeException("No submission found"));
 
                 return mapToDTO(submission);
@@ -124,10 +113,13 @@ public class TheoryService {
                 return mapToDTO(saved);
         }
 
-        public Path getSubmissionFile(Long submissionId) {
+        public SubmissionFile getSubmissionFile(Long submissionId) {
                 TheorySubmission submission = submissionRepo.findById(submissionId)
                                 .orElseThrow(() -> new RuntimeException("Submission not found"));
-                return Paths.get(submission.getFileUrl());
+                // Submissions saved before the blob store hold a plain file path
+                String hash = BlobStore.hashOf(submission.getFileUrl());
+                Path path = hash != null ? blobStore.path(hash) : Paths.get(submission.getFileUrl());
+                return new SubmissionFile(path, submission.getFileName());
         }
 
         private TheorySubmissionResponseDTO mapToDTO(TheorySubmission submission) {
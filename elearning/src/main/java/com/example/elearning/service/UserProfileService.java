@@ -2,7 +2,6 @@ package com.example.elearning.service;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.example.elearning.dto.request.ChangePasswordRequestDTO;
@@ -13,34 +12,32 @@ import com.example.elearning.dto.response.UserResponseDTO;
 import com.example.elearning.mapper.UserMapper;
 import com.example.elearning.model.User;
 import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
 
 @Service
 public class UserProfileService {
     private final UserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final CurrentUser currentUser;
 
     public UserProfileService(UserRepository userRepo,
             PasswordEncoder passwordEncoder,
-            EmailService emailService) {
+            EmailService emailService,
+            CurrentUser currentUser) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
+        this.currentUser = currentUser;
     }
 
     public UserResponseDTO getMyProfile() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
         return UserMapper.toDTO(user);
     }
 
     public UserResponseDTO updateProfile(UpdateProfileRequestDTO dto) {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
         if (!user.getEmail().equals(dto.getEmail())) {
             if (userRepo.existsByEmail(dto.getEmail())) {
                 throw new RuntimeException("Email already in use");
@@ -55,10 +52,7 @@ public class UserProfileService {
     }
 
     public void changePassword(ChangePasswordRequestDTO dto) {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
         if (!passwordEncoder.matches(dto.getCurrentPassword(), user.getPassword())) {
             throw new RuntimeException("Current password is incorrect");
         }
@@ -67,10 +61,7 @@ public class UserProfileService {
     }
 
     public void forceChangePassword(String newPassword) {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
 
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setPasswordChangeRequired(false);
@@ -125,10 +116,7 @@ public class UserProfileService {
     }
 
     public void resendEmailVerification() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser.get();
         if (user.isEmailVerified()) {
             throw new RuntimeException("Email already verified");
         }
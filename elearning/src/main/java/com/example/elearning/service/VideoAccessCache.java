@@ -0,0 +1,75 @@
+package com.example.elearning.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import com.example.elearning.model.Role;
+import com.example.elearning.repository.EnrollmentRepository;
+import com.example.elearning.repository.LessonRepository;
+
+/**
+ * Who may play a video. A player issues many range requests per viewing,
+ * so granted decisions are remembered for a short time; denials are not
+ * cached so a fresh enrollment takes effect immediately.
+ */
+@Component
+public class VideoAccessCache {
+    private static final int MAX_ENTRIES = 50_000;
+
+    private record Key(Long userId, String videoUrl) {
+    }
+
+    private final LessonRepository lessonRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final long ttlMs;
+    private final Map<Key, Long> granted = new ConcurrentHashMap<>();
+
+    public VideoAccessCache(LessonRepository lessonRepo, EnrollmentRepository enrollmentRepo,
+            @Value("${video.access-cache-ttl-ms:300000}") long ttlMs) {
+        this.lessonRepo = lessonRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.ttlMs = ttlMs;
+    }
+
+    public boolean canWatch(Long userId, Role role, String videoUrl) {
+        if (role == Role.ADMIN) {
+            return true;
+        }
+        Key key = new Key(userId, videoUrl);
+        long now = System.currentTimeMillis();
+        Long expiresAt = granted.get(key);
+        if (expiresAt != null && expiresAt > now) {
+            return true;
+        }
+        if (!load(userId, role, videoUrl)) {
+            granted.remove(key);
+            return false;
+        }
+        if (granted.size() >= MAX_ENTRIES) {
+            granted.clear();
+        }
+        granted.put(key, now + ttlMs);
+        return true;
+    }
+
+    private boolean load(Long userId, Role role, String videoUrl) {
+        List<Object[]> owners = lessonRepo.findVideoOwners(videoUrl);
+        if (owners.isEmpty()) {
+            // Uploaded but not attached to a lesson yet
+            return role == Role.TEACHER;
+        }
+        for (Object[] row : owners) {
+            Long courseId = (Long) row[0];
+            Long teacherId = (Long) row[1];
+            if (role == Role.TEACHER && userId.equals(teacherId)) {
+                return true;
+            }
+            if (role == Role.STUDENT && enrollmentRepo.existsByStudentIdAndCourseId(userId, courseId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.elearning.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Verified tokens are answered from the cache, but expired or tampered
+ * tokens never are, and a full cache keeps admitting new tokens.
+ */
+class JwtServiceTest {
+    private final JwtService jwtService = jwtService(3_600_000L, 16);
+
+    @Test
+    void repeatedTokenIsAnsweredFromCache() {
+        String token = jwtService.generateToken(user(7L));
+
+        JwtClaims first = jwtService.parseToken(token);
+        JwtClaims second = jwtService.parseToken(token);
+
+        assertSame(first, second);
+        assertEquals(7L, first.userId());
+        assertEquals("STUDENT", first.role());
+        assertEquals(1, jwtService.cachedTokens());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        JwtService shortLived = jwtService(-1_000L, 16);
+        assertThrows(ExpiredJwtException.class, () -> shortLived.parseToken(shortLived.generateToken(user(7L))));
+
+        // Cached while valid, rejected once it expires
+        JwtService expiring = jwtService(1_500L, 16);
+        String token = expiring.generateToken(user(7L));
+        JwtClaims claims = expiring.parseToken(token);
+        Thread.sleep(Math.max(0, claims.expiresAtMillis() - System.currentTimeMillis() + 50));
+        assertThrows(ExpiredJwtException.class, () -> expiring.parseToken(token));
+        assertEquals(0, expiring.cachedTokens());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedEvenWhenOriginalIsCached() {
+        String token = jwtService.generateToken(user(7L));
+        jwtService.parseToken(token);
+        String[] parts = token.split("\\.");
+        // Same signature over a payload claiming a different user
+        String forged = parts[0] + "." + jwtService.generateToken(user(8L)).split("\\.")[1] + "." + parts[2];
+        char last = parts[2].charAt(parts[2].length() - 2);
+        String badSignature = parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 2)
+                + (last == 'A' ? 'B' : 'A') + parts[2].charAt(parts[2].length() - 1);
+
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(forged));
+        assertThrows(SignatureException.class, () -> jwtService.parseToken(badSignature));
+        assertEquals(1, jwtService.cachedTokens());
+    }
+
+    @Test
+    void fullCacheStillAdmitsNewTokens() {
+        List<String> tokens = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            tokens.add(jwtService.generateToken(user(id)));
+        }
+        for (String token : tokens) {
+            jwtService.parseToken(token);
+            assertTrue(jwtService.cachedTokens() <= 16);
+        }
+
+        // Verified once in the loop, after the cache had filled up
+        String latest = tokens.get(99);
+        assertSame(jwtService.parseToken(latest), jwtService.parseToken(latest));
+    }
+
+    private static JwtService jwtService(long expiration, int cacheSize) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", "test-secret-key-test-secret-key-test-secret");
+        ReflectionTestUtils.setField(service, "expiration", expiration);
+        ReflectionTestUtils.setField(service, "cacheSize", cacheSize);
+        service.init();
+        return service;
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.elearning.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import com.example.elearning.model.Role;
+import com.example.elearning.repository.EnrollmentRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.security.CurrentUser;
+import com.example.elearning.service.BlobStore;
+import com.example.elearning.service.VideoAccessCache;
+
+/**
+ * Players seek with single byte ranges and revalidate with ETags. Access is
+ * checked before the file is looked up, and a granted check is reused for
+ * the rest of the viewing.
+ */
+class VideoStreamControllerTest {
+    private static final Long STUDENT_ID = 7L;
+    private static final Long COURSE_ID = 3L;
+
+    @TempDir
+    Path dir;
+
+    private final LessonRepository lessonRepo = mock(LessonRepository.class);
+    private final EnrollmentRepository enrollmentRepo = mock(EnrollmentRepository.class);
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    private final byte[] video = new byte[1000];
+    private VideoStreamController controller;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < video.length; i++) {
+            video[i] = (byte) i;
+        }
+        Files.write(dir.resolve("lecture.mp4"), video);
+        controller = new VideoStreamController(new VideoAccessCache(lessonRepo, enrollmentRepo, 300_000),
+                currentUser, new BlobStore(dir.resolve("blobs").toString()), dir.toString(),
+                "private, max-age=86400");
+        when(currentUser.getId()).thenReturn(STUDENT_ID);
+        when(currentUser.getRole()).thenReturn(Role.STUDENT);
+        when(lessonRepo.findVideoOwners("/videos/lecture.mp4")).thenReturn(List.<Object[]>of(new Object[] { COURSE_ID, 2L }));
+        when(enrollmentRepo.existsByStudentIdAndCourseId(STUDENT_ID, COURSE_ID)).thenReturn(true);
+    }
+
+    @Test
+    void servesRequestedRange() throws Exception {
+        MockHttpServletResponse response = stream("lecture.mp4", HttpHeaders.RANGE, "bytes=100-199");
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(Arrays.copyOfRange(video, 100, 200), response.getContentAsByteArray());
+    }
+
+    @Test
+    void unsatisfiableRangeReportsLength() throws Exception {
+        MockHttpServletResponse response = stream("lecture.mp4", HttpHeaders.RANGE, "bytes=5000-");
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */1000", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws Exception {
+        String etag = stream("lecture.mp4").getHeader(HttpHeaders.ETAG);
+
+        assertEquals(304, stream("lecture.mp4", HttpHeaders.IF_NONE_MATCH, etag).getStatus());
+        assertEquals(304, stream("lecture.mp4", HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag).getStatus());
+        assertEquals(304, stream("lecture.mp4", HttpHeaders.IF_NONE_MATCH, "*").getStatus());
+        assertEquals(200, stream("lecture.mp4", HttpHeaders.IF_NONE_MATCH, "\"other\"").getStatus());
+    }
+
+    @Test
+    void staleIfRangeGetsFullBody() throws Exception {
+        MockHttpServletRequest request = request("lecture.mp4");
+        request.addHeader(HttpHeaders.RANGE, "bytes=100-199");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"previous-version\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.stream("lecture.mp4", request, response);
+
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+        assertArrayEquals(video, response.getContentAsByteArray());
+    }
+
+    @Test
+    void studentOutsideCourseIsForbiddenWhetherOrNotFileExists() throws Exception {
+        when(enrollmentRepo.existsByStudentIdAndCourseId(STUDENT_ID, COURSE_ID)).thenReturn(false);
+        when(lessonRepo.findVideoOwners("/videos/missing.mp4")).thenReturn(List.<Object[]>of(new Object[] { COURSE_ID, 2L }));
+
+        assertEquals(403, stream("lecture.mp4").getStatus());
+        assertEquals(403, stream("missing.mp4").getStatus());
+    }
+
+    @Test
+    void grantedAccessIsReusedForNextRange() throws Exception {
+        assertEquals(206, stream("lecture.mp4", HttpHeaders.RANGE, "bytes=0-99").getStatus());
+        assertEquals(206, stream("lecture.mp4", HttpHeaders.RANGE, "bytes=100-199").getStatus());
+
+        verify(lessonRepo, times(1)).findVideoOwners("/videos/lecture.mp4");
+        verify(enrollmentRepo, times(1)).existsByStudentIdAndCourseId(STUDENT_ID, COURSE_ID);
+    }
+
+    @Test
+    void parsesSingleRanges() {
+        assertArrayEquals(new long[] { 0, 99 }, VideoStreamController.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] { 500, 999 }, VideoStreamController.parseRange("bytes=500-", 1000));
+        assertArrayEquals(new long[] { 900, 999 }, VideoStreamController.parseRange("bytes=-100", 1000));
+        assertArrayEquals(new long[] { 900, 999 }, VideoStreamController.parseRange("bytes=900-5000", 1000));
+    }
+
+    @Test
+    void fallsBackToFullBodyForUnsupportedRanges() {
+        assertArrayEquals(new long[0], VideoStreamController.parseRange("bytes=0-1,5-9", 1000));
+        assertArrayEquals(new long[0], VideoStreamController.parseRange("items=0-1", 1000));
+        assertArrayEquals(new long[0], VideoStreamController.parseRange("bytes=abc", 1000));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRanges() {
+        assertNull(VideoStreamController.parseRange("bytes=1000-", 1000));
+        assertNull(VideoStreamController.parseRange("bytes=50-10", 1000));
+        assertNull(VideoStreamController.parseRange("bytes=-0", 1000));
+    }
+
+    private MockHttpServletResponse stream(String filename, String... header) throws Exception {
+        MockHttpServletRequest request = request(filename);
+        if (header.length == 2) {
+            request.addHeader(header[0], header[1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.stream(filename, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String filename) {
+        return new MockHttpServletRequest("GET", "/videos/" + filename);
+    }
+}
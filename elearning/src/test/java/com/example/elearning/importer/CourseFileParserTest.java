@@ -0,0 +1,199 @@
+package com.example.elearning.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.example.elearning.model.TaskType;
+
+class CourseFileParserTest {
+    private final List<Object> sections = new ArrayList<>();
+    private final CourseFileParser.Handler collect = new CourseFileParser.Handler() {
+        @Override
+        public void course(CourseFileParser.CourseSection course) {
+            sections.add(course);
+        }
+
+        @Override
+        public void lesson(CourseFileParser.LessonSection lesson) {
+            sections.add(lesson);
+        }
+
+        @Override
+        public void task(CourseFileParser.TaskSection task) {
+            sections.add(task);
+        }
+    };
+
+    @Test
+    void readsAllSectionTypes() throws Exception {
+        CourseFileParser parser = parse("""
+                [COURSE]
+                Title: Java
+                Description: Basics
+                Paid: true
+                Price: 99.5
+
+                [LESSON]
+                Title: Intro
+                VideoUrl: https://example.com/1
+                Order: 1
+
+                [TASK]
+                Type: CODING
+                Title: Sum
+                Description: Add two numbers
+                Day: 2
+                StarterCode: class Main {}
+                TestCase: 1 2 | 3
+                TestCase: | a | b
+
+                [TASK]
+                type: mcq
+                title: Quiz
+                description: Check
+                Question: 2 + 2?
+                OptionA: 3
+                OptionB: 4
+                OptionC: 5
+                OptionD: 22
+                CorrectAnswer: b
+                """);
+
+        assertFalse(parser.hasErrors());
+        assertEquals(4, sections.size());
+        CourseFileParser.CourseSection course = (CourseFileParser.CourseSection) sections.get(0);
+        assertTrue(course.paid());
+        assertEquals(99.5, course.price());
+        assertFalse(course.published());
+        assertEquals(1, ((CourseFileParser.LessonSection) sections.get(1)).day());
+        CourseFileParser.TaskSection coding = (CourseFileParser.TaskSection) sections.get(2);
+        assertEquals(2, coding.day());
+        assertEquals(new CourseFileParser.TestCaseEntry("", "a | b"), coding.testCases().get(1));
+        CourseFileParser.TaskSection mcq = (CourseFileParser.TaskSection) sections.get(3);
+        assertEquals(TaskType.MCQ, mcq.type());
+        assertEquals("B", mcq.questions().get(0).correctAnswer());
+    }
+
+    @Test
+    void reportsEveryProblemWithItsLine() throws Exception {
+        CourseFileParser parser = parse("""
+                [COURSE]
+                Title: Java
+                Paid: maybe
+
+                [LESSON]
+                Title: Intro
+                Order: one
+
+                [TASK]
+                Type: MCQ
+                Title: Quiz
+                Description: Check
+                Question: 2 + 2?
+                OptionA: 3
+                CorrectAnswer: E
+                """);
+
+        assertEquals(List.of(
+                new ImportError(1, "Description is required"),
+                new ImportError(3, "Expected true or false but found 'maybe'"),
+                new ImportError(5, "VideoUrl is required"),
+                new ImportError(5, "Lesson Order is required"),
+                new ImportError(7, "Expected a whole number but found 'one'"),
+                new ImportError(13, "Question needs OptionA, OptionB, OptionC and OptionD")),
+                parser.getErrors());
+        assertTrue(sections.isEmpty());
+    }
+
+    @Test
+    void acceptsTasksWithoutDescriptionTestsOrQuestions() throws Exception {
+        CourseFileParser parser = parse("""
+                [COURSE]
+                Title: Java
+                Description: Basics
+
+                [TASK]
+                Title: Sum
+
+                [TASK]
+                Type: MCQ
+                Title: Quiz
+                """);
+
+        assertFalse(parser.hasErrors());
+        CourseFileParser.TaskSection coding = (CourseFileParser.TaskSection) sections.get(1);
+        assertEquals(TaskType.CODING, coding.type());
+        assertNull(coding.description());
+        assertTrue(coding.testCases().isEmpty());
+        assertTrue(((CourseFileParser.TaskSection) sections.get(2)).questions().isEmpty());
+    }
+
+    @Test
+    void requiresCourseFirst() throws Exception {
+        CourseFileParser parser = parse("""
+                [LESSON]
+                Title: Intro
+                VideoUrl: https://example.com/1
+                Order: 1
+                """);
+
+        assertEquals(List.of(new ImportError(1, "[COURSE] must come before lessons and tasks"),
+                new ImportError(4, "File has no [COURSE] section")), parser.getErrors());
+    }
+
+    @Test
+    void unescapesValuesInFormat2() throws Exception {
+        CourseFileParser parser = parse("""
+                [COURSE]
+                Format: 2
+                Title: Java\\sBasics\\s
+                Description: one\\ntwo \\\\ three
+
+                [TASK]
+                Title: Sum
+                Description: C:\\\\temp
+                StarterCode: print("a\\\\n")
+                TestCase: a\\|b | \\s1\\s
+                """);
+
+        assertFalse(parser.hasErrors());
+        CourseFileParser.CourseSection course = (CourseFileParser.CourseSection) sections.get(0);
+        assertEquals("Java Basics ", course.title());
+        assertEquals("one\ntwo \\ three", course.description());
+        CourseFileParser.TaskSection task = (CourseFileParser.TaskSection) sections.get(1);
+        assertEquals("C:\\temp", task.description());
+        assertEquals("print(\"a\\n\")", task.starterCode());
+        assertEquals(new CourseFileParser.TestCaseEntry("a|b", " 1 "), task.testCases().get(0));
+    }
+
+    @Test
+    void backslashesArePlainTextWithoutFormat2() throws Exception {
+        CourseFileParser parser = parse("""
+                [COURSE]
+                Title: Java
+                Description: Basics
+                Format: 2
+
+                [LESSON]
+                Title: C:\\temp\\n and \\q
+                VideoUrl: https://example.com/1
+                Order: 1
+                """);
+
+        assertEquals(List.of(new ImportError(4, "Format must be the first property of [COURSE]")),
+                parser.getErrors());
+        assertEquals("C:\\temp\\n and \\q", ((CourseFileParser.LessonSection) sections.get(0)).title());
+    }
+
+    private CourseFileParser parse(String text) throws Exception {
+        CourseFileParser parser = new CourseFileParser();
+        parser.parse(new StringReader(text), collect);
+        return parser;
+    }
+}
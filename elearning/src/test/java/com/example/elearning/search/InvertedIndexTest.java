@@ -0,0 +1,60 @@
+package com.example.elearning.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    @Test
+    void ranksTitleMatchesAboveDescriptionMatches() {
+        InvertedIndex<Long, String> index = new InvertedIndex<>();
+        index.put(1L, "intro", "Intro to Cooking", "We also touch on Java briefly");
+        index.put(2L, "java", "Java Fundamentals", "Classes, objects and collections");
+
+        List<InvertedIndex.Hit<String>> hits = index.search("java", 10, v -> true);
+
+        assertEquals(List.of("java", "intro"), hits.stream().map(InvertedIndex.Hit::value).toList());
+    }
+
+    @Test
+    void matchesLastTermAsPrefix() {
+        InvertedIndex<Long, String> index = new InvertedIndex<>();
+        index.put(1L, "spring", "Spring Security in depth", null);
+        index.put(2L, "react", "React hooks", null);
+
+        List<InvertedIndex.Hit<String>> hits = index.search("spring secu", 10, v -> true);
+
+        assertEquals("spring", hits.get(0).value());
+        assertEquals(1, hits.size());
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisible() {
+        InvertedIndex<Long, String> index = new InvertedIndex<>();
+        index.put(1L, "a", "Docker basics", null);
+        index.put(1L, "a", "Kubernetes basics", null);
+
+        assertTrue(index.search("docker", 10, v -> true).isEmpty());
+        assertEquals(1, index.search("kubernetes", 10, v -> true).size());
+
+        index.remove(1L);
+        assertTrue(index.search("basics", 10, v -> true).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void appliesFilterAndLimit() {
+        InvertedIndex<Long, Long> index = new InvertedIndex<>();
+        for (long i = 1; i <= 100; i++) {
+            index.put(i, i, "Lesson " + i + " python", null);
+        }
+
+        List<InvertedIndex.Hit<Long>> hits = index.search("python", 5, v -> v % 2 == 0);
+
+        assertEquals(5, hits.size());
+        assertTrue(hits.stream().allMatch(h -> h.value() % 2 == 0));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.elearning.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.example.elearning.config.JwtService;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.EnrollmentRepository;
+import com.example.elearning.repository.PaymentRepository;
+import com.example.elearning.repository.UserRepository;
+import com.example.elearning.service.AdminService;
+
+/**
+ * Blocking a user or changing their role must revoke tokens already issued
+ * to them, and an invalidation racing with a load must never leave the old
+ * state cached.
+ */
+class TokenRevocationCacheTest {
+    private final UserRepository userRepo = mock(UserRepository.class);
+    private final TokenRevocationCache cache = new TokenRevocationCache(userRepo, 60_000);
+    private final AdminService admin = new AdminService(userRepo, mock(CourseRepository.class),
+            mock(PaymentRepository.class), mock(EnrollmentRepository.class), mock(PasswordEncoder.class), cache);
+    private final JwtService jwtService = new JwtService();
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwtService, mock(CustomUserDetailsService.class), cache);
+    private final User user = new User();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtService, "secret", "test-secret-key-test-secret-key-test-secret");
+        ReflectionTestUtils.setField(jwtService, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheSize", 100);
+        jwtService.init();
+        ReflectionTestUtils.setField(filter, "claimsAuth", true);
+        user.setId(7L);
+        user.setEmail("student@example.com");
+        user.setRole(Role.STUDENT);
+        when(userRepo.findById(7L)).thenReturn(Optional.of(user));
+        when(userRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void blockingUserRevokesIssuedToken() throws Exception {
+        String token = jwtService.generateToken(user);
+        assertEquals(200, authenticate(token).getStatus());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+        admin.toggleUserBlockStatus(7L);
+
+        MockHttpServletResponse response = authenticate(token);
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void roleChangeRevokesIssuedToken() throws Exception {
+        String token = jwtService.generateToken(user);
+        authenticate(token);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+
+        admin.updateUserRole(7L, "TEACHER");
+
+        authenticate(token);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        authenticate(jwtService.generateToken(user));
+        assertEquals("ROLE_TEACHER", SecurityContextHolder.getContext().getAuthentication().getAuthorities()
+                .iterator().next().getAuthority());
+    }
+
+    @Test
+    void invalidationDuringLoadIsNotOverwritten() {
+        // The admin change lands while the old state is being read
+        when(userRepo.findById(7L)).thenAnswer(inv -> {
+            User stale = new User();
+            stale.setId(7L);
+            stale.setRole(Role.STUDENT);
+            user.setEnabled(false);
+            cache.invalidate(7L);
+            return Optional.of(stale);
+        }).thenReturn(Optional.of(user));
+
+        assertEquals(true, cache.get(7L).enabled());
+        assertFalse(cache.get(7L).enabled());
+        assertFalse(cache.get(7L).enabled());
+        verify(userRepo, times(2)).findById(7L);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        TokenRevocationCache expiring = new TokenRevocationCache(userRepo, 0);
+        assertEquals(true, expiring.get(7L).enabled());
+
+        // Changed without going through the admin service
+        user.setEnabled(false);
+
+        assertFalse(expiring.get(7L).enabled());
+    }
+
+    private MockHttpServletResponse authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/courses");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
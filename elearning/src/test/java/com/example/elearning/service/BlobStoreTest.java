@@ -0,0 +1,103 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.repository.TheorySubmissionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BlobStoreTest {
+    @TempDir
+    Path dir;
+    private BlobStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new BlobStore(dir.toString());
+        store.init();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() throws Exception {
+        String first = put("lecture");
+        String second = put("lecture");
+
+        assertEquals(first, second);
+        assertEquals(dir.resolve(first.substring(0, 2)).resolve(first.substring(2, 4)).resolve(first),
+                store.path(first));
+        try (var files = Files.walk(dir)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    void parsesStoredUrls() throws Exception {
+        String hash = put("lecture");
+        assertEquals(hash, BlobStore.hashOf("/videos/" + hash + ".mp4"));
+        assertEquals(hash, BlobStore.hashOf("blob:" + hash));
+        assertNull(BlobStore.hashOf("/videos/1700000000000_lecture.mp4"));
+        assertNull(BlobStore.hashOf("uploads/videos/3/7/abc.pdf"));
+    }
+
+    @Test
+    void collectorKeepsReferencedAndRecentBlobs() throws Exception {
+        String lessonVideo = put("video");
+        String submission = put("essay");
+        String orphan = put("orphan");
+        String fresh = put("fresh");
+        for (String hash : List.of(lessonVideo, submission, orphan)) {
+            Files.setLastModifiedTime(store.path(hash), FileTime.fromMillis(0));
+        }
+        LessonRepository lessonRepo = mock(LessonRepository.class);
+        TheorySubmissionRepository submissionRepo = mock(TheorySubmissionRepository.class);
+        when(lessonRepo.findBlobVideoUrls()).thenReturn(List.of("/videos/" + lessonVideo + ".mp4"));
+        when(submissionRepo.findBlobFileUrls()).thenReturn(List.of("blob:" + submission));
+        BlobGarbageCollector collector = new BlobGarbageCollector(store, lessonRepo, submissionRepo,
+                new SimpleMeterRegistry(), 60_000);
+
+        assertEquals(1, collector.collect());
+        assertTrue(Files.exists(store.path(lessonVideo)));
+        assertTrue(Files.exists(store.path(submission)));
+        assertTrue(Files.exists(store.path(fresh)));
+        assertFalse(Files.exists(store.path(orphan)));
+    }
+
+    @Test
+    void collectorSparesBlobDeduplicatedAfterListing() throws Exception {
+        String orphan = put("orphan");
+        Files.setLastModifiedTime(store.path(orphan), FileTime.fromMillis(0));
+        BlobStore racing = spy(store);
+        // An upload of the same bytes lands between the listing and the delete
+        doAnswer(inv -> {
+            assertEquals(orphan, put("orphan"));
+            return inv.callRealMethod();
+        }).when(racing).deleteIfOlder(any(), anyLong());
+        BlobGarbageCollector collector = new BlobGarbageCollector(racing, mock(LessonRepository.class),
+                mock(TheorySubmissionRepository.class), new SimpleMeterRegistry(), 60_000);
+
+        assertEquals(0, collector.collect());
+        assertTrue(Files.exists(store.path(orphan)));
+    }
+
+    private String put(String content) throws Exception {
+        return store.put(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
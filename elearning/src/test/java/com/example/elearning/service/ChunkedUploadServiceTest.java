@@ -0,0 +1,105 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import com.example.elearning.dto.request.InitUploadRequestDTO;
+import com.example.elearning.dto.response.UploadSessionResponseDTO;
+
+class ChunkedUploadServiceTest {
+    @TempDir
+    Path dir;
+    private ChunkedUploadService service;
+    private BlobStore blobStore;
+    private final byte[] video = new byte[2500];
+
+    @BeforeEach
+    void setUp() throws Exception {
+        new Random(7).nextBytes(video);
+        blobStore = new BlobStore(dir.resolve("blobs").toString());
+        blobStore.init();
+        service = new ChunkedUploadService(blobStore, dir.toString(), 1000, 10_000, 60_000);
+        service.removeLeftovers();
+    }
+
+    @Test
+    void assemblesChunksSentOutOfOrder() throws Exception {
+        UploadSessionResponseDTO session = service.init(1L, request(video.length));
+        assertEquals(3, session.getTotalChunks());
+
+        send(session, 2000);
+        send(session, 0);
+        UploadSessionResponseDTO pending = service.complete(session.getSessionId(), 1L);
+        assertNull(pending.getUrl());
+        assertEquals(List.of(1), pending.getMissingChunks());
+
+        send(session, 1000);
+        UploadSessionResponseDTO done = service.complete(session.getSessionId(), 1L);
+        assertEquals("/videos/" + sha256(video) + ".mp4", done.getUrl());
+        assertArrayEquals(video, Files.readAllBytes(blobStore.path(BlobStore.hashOf(done.getUrl()))));
+    }
+
+    @Test
+    void rejectsCorruptedChunk() throws Exception {
+        UploadSessionResponseDTO session = service.init(1L, request(video.length));
+        byte[] chunk = Arrays.copyOfRange(video, 0, 1000);
+        String checksum = sha256(chunk);
+        chunk[10] ^= 1;
+
+        assertThrows(RuntimeException.class, () -> service.writeChunk(session.getSessionId(), 1L, 0, checksum,
+                new ByteArrayInputStream(chunk)));
+        assertEquals(List.of(0, 1, 2), service.status(session.getSessionId(), 1L).getMissingChunks());
+    }
+
+    @Test
+    void corruptedResendKeepsReceivedChunk() throws Exception {
+        UploadSessionResponseDTO session = service.init(1L, request(video.length));
+        send(session, 0);
+        send(session, 1000);
+        send(session, 2000);
+        byte[] chunk = Arrays.copyOfRange(video, 1000, 2000);
+        String checksum = sha256(chunk);
+        Arrays.fill(chunk, (byte) 0);
+
+        service.writeChunk(session.getSessionId(), 1L, 1000, checksum, new ByteArrayInputStream(chunk));
+
+        UploadSessionResponseDTO done = service.complete(session.getSessionId(), 1L);
+        assertArrayEquals(video, Files.readAllBytes(blobStore.path(BlobStore.hashOf(done.getUrl()))));
+    }
+
+    @Test
+    void sessionsBelongToTheirOwner() {
+        UploadSessionResponseDTO session = service.init(1L, request(video.length));
+        assertThrows(RuntimeException.class, () -> service.status(session.getSessionId(), 2L));
+    }
+
+    private void send(UploadSessionResponseDTO session, int offset) throws Exception {
+        byte[] chunk = Arrays.copyOfRange(video, offset, Math.min(offset + 1000, video.length));
+        service.writeChunk(session.getSessionId(), 1L, offset, sha256(chunk), new ByteArrayInputStream(chunk));
+    }
+
+    private static InitUploadRequestDTO request(long size) {
+        InitUploadRequestDTO request = new InitUploadRequestDTO();
+        request.setFileName("lecture.mp4");
+        request.setContentType("video/mp4");
+        request.setSize(size);
+        return request;
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
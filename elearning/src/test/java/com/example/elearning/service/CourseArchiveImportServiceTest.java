@@ -0,0 +1,76 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.mock.web.MockMultipartFile;
+import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.importer.CourseImportException;
+import com.example.elearning.importer.ImportError;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.UserRepository;
+import com.example.elearning.security.CurrentUser;
+
+class CourseArchiveImportServiceTest {
+    private final CourseImportService importService = mock(CourseImportService.class);
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    private final CourseArchiveImportService service = new CourseArchiveImportService(importService,
+            mock(UserRepository.class), currentUser, 2, 10, 1000);
+
+    @Test
+    void importsEachFileIndependently() throws Exception {
+        when(currentUser.get()).thenReturn(new User());
+        when(importService.importCourse(any(InputStreamSource.class), any(User.class))).thenAnswer(inv -> {
+            InputStreamSource source = inv.getArgument(0);
+            String text;
+            try (var in = source.getInputStream()) {
+                text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (java.io.IOException e) {
+                // As CourseImportService reports unreadable files
+                throw new RuntimeException("Failed to process file: " + e.getMessage());
+            }
+            if (text.contains("broken")) {
+                throw new CourseImportException(List.of(new ImportError(2, "Description is required")), 1);
+            }
+            return new CourseResponseDTO(7L, text.trim(), "", false, 0.0, "Admin", 3L, 0L, false);
+        });
+        byte[] zip = zip(Map.of("a.txt", "first", "b.txt", "broken", "c.txt", "x".repeat(2000),
+                "__MACOSX/._a.txt", "junk"));
+
+        CourseArchiveImportService.Archive archive = service.open(
+                new MockMultipartFile("file", "courses.zip", "application/zip", zip), null);
+        List<Map<String, Object>> report = new ArrayList<>();
+        service.run(archive, report::add);
+
+        assertEquals(3, archive.entries().size());
+        assertEquals(5, report.size());
+        Map<String, Object> byFile = new java.util.HashMap<>();
+        report.stream().filter(r -> "file".equals(r.get("event")))
+                .forEach(r -> byFile.put((String) r.get("file"), r.get("status")));
+        assertEquals(Map.of("a.txt", "imported", "b.txt", "invalid", "c.txt", "failed"), byFile);
+        assertEquals(Map.of("event", "finished", "imported", 1, "failed", 2), report.get(4));
+    }
+
+    private static byte[] zip(Map<String, String> files) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> file : files.entrySet()) {
+                out.putNextEntry(new ZipEntry(file.getKey()));
+                out.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+}
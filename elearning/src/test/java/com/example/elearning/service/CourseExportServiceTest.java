@@ -0,0 +1,143 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.example.elearning.importer.CourseFileParser;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.TaskType;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.repository.McqQuestionRepository;
+import com.example.elearning.repository.TaskRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * An exported course must import back to exactly the same sections, with
+ * lessons and tasks read in fixed-size batches.
+ */
+class CourseExportServiceTest {
+    private final LessonRepository lessonRepo = mock(LessonRepository.class);
+    private final TaskRepository taskRepo = mock(TaskRepository.class);
+    private final McqQuestionRepository mcqQuestionRepo = mock(McqQuestionRepository.class);
+    private final CourseExportService service = new CourseExportService(mock(CourseRepository.class), lessonRepo,
+            taskRepo, mcqQuestionRepo, mock(CurrentUser.class), 2);
+
+    @Test
+    void exportRoundTripsThroughImport() throws Exception {
+        Course course = new Course();
+        course.setId(5L);
+        course.setTitle("  Java | Basics \\ ");
+        course.setDescription("Line one\r\nLine two\twith tab\u0001");
+        course.setPaid(true);
+        course.setPrice(999.5);
+        course.setPublished(false);
+
+        when(lessonRepo.findExportRows(eq(5L), eq(0L), any())).thenReturn(List.of(
+                new Object[] { 1L, "Intro", "/videos/abc.mp4", 1, 1 },
+                new Object[] { 2L, "Variables: types", "https://example.com/v?a=1|2", 2, 1 }));
+        when(lessonRepo.findExportRows(eq(5L), eq(2L), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 7L, "Loops", "https://example.com/loops", 3, 2 }));
+        when(taskRepo.findExportRows(eq(5L), eq(0L), any())).thenReturn(List.of(
+                new Object[] { 10L, TaskType.CODING, "Sum", "Read two numbers.\nPrint the sum.", 1,
+                        "class Main {\n\tpublic static void main(String[] a) { System.out.println(\"\\n\"); }\n}" },
+                new Object[] { 11L, TaskType.MCQ, "Quiz", "Pick one", 2, null }));
+        when(taskRepo.findExportRows(eq(5L), eq(11L), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 12L, TaskType.THEORY, "Essay", "Write about Java", 3, null }));
+        when(taskRepo.findTestCaseRows(List.of(10L))).thenReturn(List.of(
+                new Object[] { 10L, " 1 2 ", "3" },
+                new Object[] { 10L, "a|b", "line1\nline2 " },
+                new Object[] { 10L, "", "only output" }));
+        when(mcqQuestionRepo.findExportRows(List.of(11L))).thenReturn(List.<Object[]>of(
+                new Object[] { 11L, "2 + 2?", "3", "4", "5", "|", "B" }));
+
+        List<Object> sections = exportAndParse(course);
+
+        assertEquals(List.of(
+                new CourseFileParser.CourseSection(0, "  Java | Basics \\ ", "Line one\r\nLine two\twith tab\u0001",
+                        true, 999.5, false),
+                new CourseFileParser.LessonSection(0, "Intro", "/videos/abc.mp4", 1, 1),
+                new CourseFileParser.LessonSection(0, "Variables: types", "https://example.com/v?a=1|2", 2, 1),
+                new CourseFileParser.LessonSection(0, "Loops", "https://example.com/loops", 3, 2),
+                new CourseFileParser.TaskSection(0, TaskType.CODING, "Sum", "Read two numbers.\nPrint the sum.", 1,
+                        "class Main {\n\tpublic static void main(String[] a) { System.out.println(\"\\n\"); }\n}",
+                        List.of(new CourseFileParser.TestCaseEntry(" 1 2 ", "3"),
+                                new CourseFileParser.TestCaseEntry("a|b", "line1\nline2 "),
+                                new CourseFileParser.TestCaseEntry("", "only output")),
+                        List.of()),
+                new CourseFileParser.TaskSection(0, TaskType.MCQ, "Quiz", "Pick one", 2, null, List.of(),
+                        List.of(new CourseFileParser.QuestionEntry("2 + 2?", "3", "4", "5", "|", "B"))),
+                new CourseFileParser.TaskSection(0, TaskType.THEORY, "Essay", "Write about Java", 3, null,
+                        List.of(), List.of())),
+                sections);
+        verify(lessonRepo, times(2)).findExportRows(eq(5L), any(), any());
+        verify(taskRepo, times(2)).findExportRows(eq(5L), any(), any());
+    }
+
+    @Test
+    void exportRoundTripsUnfinishedTasks() throws Exception {
+        Course course = new Course();
+        course.setId(5L);
+        course.setTitle("Draft");
+        course.setDescription("Work in progress");
+        when(lessonRepo.findExportRows(eq(5L), eq(0L), any())).thenReturn(List.of());
+        when(taskRepo.findExportRows(eq(5L), eq(0L), any())).thenReturn(List.of(
+                new Object[] { 10L, TaskType.CODING, "No tests yet", null, 1, null },
+                new Object[] { 11L, TaskType.MCQ, "No questions yet", "", 1, null }));
+        when(taskRepo.findExportRows(eq(5L), eq(11L), any())).thenReturn(List.<Object[]>of(
+                new Object[] { 12L, TaskType.MCQ, null, "Untitled", 2, null }));
+        when(mcqQuestionRepo.findExportRows(List.of(12L))).thenReturn(List.<Object[]>of(
+                new Object[] { 12L, "", "yes", "", "no", "", "b" }));
+
+        List<Object> sections = exportAndParse(course);
+
+        assertEquals(List.of(
+                new CourseFileParser.CourseSection(0, "Draft", "Work in progress", false, 0.0, true),
+                new CourseFileParser.TaskSection(0, TaskType.CODING, "No tests yet", null, 1, null, List.of(),
+                        List.of()),
+                new CourseFileParser.TaskSection(0, TaskType.MCQ, "No questions yet", "", 1, null, List.of(),
+                        List.of()),
+                new CourseFileParser.TaskSection(0, TaskType.MCQ, null, "Untitled", 2, null, List.of(),
+                        List.of(new CourseFileParser.QuestionEntry("", "yes", "", "no", "", "b")))),
+                sections);
+    }
+
+    private List<Object> exportAndParse(Course course) throws Exception {
+        StringWriter out = new StringWriter();
+        service.export(course, out);
+
+        List<Object> sections = new ArrayList<>();
+        CourseFileParser parser = new CourseFileParser();
+        parser.parse(new StringReader(out.toString()), new CourseFileParser.Handler() {
+            @Override
+            public void course(CourseFileParser.CourseSection c) {
+                sections.add(new CourseFileParser.CourseSection(0, c.title(), c.description(), c.paid(),
+                        c.price(), c.published()));
+            }
+
+            @Override
+            public void lesson(CourseFileParser.LessonSection l) {
+                sections.add(new CourseFileParser.LessonSection(0, l.title(), l.videoUrl(), l.order(), l.day()));
+            }
+
+            @Override
+            public void task(CourseFileParser.TaskSection t) {
+                sections.add(new CourseFileParser.TaskSection(0, t.type(), t.title(), t.description(), t.day(),
+                        t.starterCode(), t.testCases(), t.questions()));
+            }
+        });
+        assertFalse(parser.hasErrors(), () -> parser.getErrors().toString());
+        return sections;
+    }
+}
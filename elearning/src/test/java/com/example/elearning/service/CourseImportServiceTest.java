@@ -0,0 +1,130 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.example.elearning.importer.CourseImportException;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * A 5,000-lesson / 20,000-question course must be written in bounded
+ * batches; no batch may grow with the size of the file.
+ */
+class CourseImportServiceTest {
+    @TempDir
+    Path dir;
+
+    private final CourseRepository courseRepo = mock(CourseRepository.class);
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final SearchService searchService = mock(SearchService.class);
+    private final TaskCatalogCache taskCatalogCache = mock(TaskCatalogCache.class);
+    private final CourseImportService service = new CourseImportService(courseRepo, jdbc, tx,
+            mock(CurrentUser.class), searchService, taskCatalogCache, 500);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importsLargeCourseInBoundedBatches() throws Exception {
+        Path file = dir.resolve("course.txt");
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("[COURSE]\nTitle: Big\nDescription: Many lessons\nPaid: false\n");
+            for (int i = 1; i <= 5000; i++) {
+                out.write("[LESSON]\nTitle: Lesson " + i + "\nVideoUrl: https://example.com/" + i
+                        + "\nOrder: " + i + "\nDay: " + (i / 10 + 1) + "\n");
+            }
+            for (int t = 1; t <= 1000; t++) {
+                out.write("[TASK]\nType: MCQ\nTitle: Quiz " + t + "\nDescription: Check\n");
+                for (int q = 1; q <= 20; q++) {
+                    out.write("Question: Q" + q + "\nOptionA: a\nOptionB: b\nOptionC: c\nOptionD: d\n"
+                            + "CorrectAnswer: A\n");
+                }
+            }
+        }
+        when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null));
+        when(courseRepo.save(any(Course.class))).thenAnswer(inv -> {
+            Course course = inv.getArgument(0);
+            course.setId(1L);
+            return course;
+        });
+        List<Integer> lessonBatches = new ArrayList<>();
+        when(jdbc.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(inv -> {
+                    lessonBatches.add(((Collection<?>) inv.getArgument(1)).size());
+                    return new int[0][];
+                });
+        AtomicLong taskIds = new AtomicLong(1);
+        List<Integer> taskBatches = new ArrayList<>();
+        when(jdbc.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(inv -> {
+                    BatchPreparedStatementSetter setter = inv.getArgument(1);
+                    KeyHolder keys = inv.getArgument(2);
+                    taskBatches.add(setter.getBatchSize());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("GENERATED_KEY", taskIds.getAndIncrement()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+        List<Integer> questionBatches = new ArrayList<>();
+        when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(inv -> {
+            questionBatches.add(((List<?>) inv.getArgument(1)).size());
+            return new int[0];
+        });
+        User teacher = new User();
+        teacher.setName("Teacher");
+        teacher.setRole(Role.TEACHER);
+
+        assertEquals(5000L, service.importCourse(new FileSystemResource(file), teacher).getLessonCount());
+
+        assertEquals(5000, lessonBatches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1000, taskBatches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(20_000, questionBatches.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(lessonBatches.stream().allMatch(size -> size <= 500));
+        // A task is never split, so a batch can overshoot by at most one task
+        assertTrue(questionBatches.stream().allMatch(size -> size <= 520));
+        verify(taskCatalogCache).evict(1L);
+    }
+
+    @Test
+    void invalidFileWritesNothing() {
+        InputStreamSource file = () -> new java.io.ByteArrayInputStream(
+                "[COURSE]\nTitle: Java\n".getBytes(StandardCharsets.UTF_8));
+
+        CourseImportException e = assertThrows(CourseImportException.class,
+                () -> service.importCourse(file, new User()));
+        assertEquals(1, e.getErrors().get(0).line());
+        verifyNoInteractions(courseRepo, jdbc, tx, taskCatalogCache);
+    }
+}
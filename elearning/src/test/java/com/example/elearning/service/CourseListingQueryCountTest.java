@@ -0,0 +1,154 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.Enrollment;
+import com.example.elearning.model.Lesson;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.EnrollmentRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.repository.TaskRepository;
+import com.example.elearning.security.CurrentUser;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards against the course listings falling back to per-course count
+ * queries: Hibernate must prepare exactly one statement per listing, however
+ * many courses, lessons and enrollments there are.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CourseListingQueryCountTest {
+    @Autowired
+    private TestEntityManager em;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private CourseRepository courseRepo;
+    @Autowired
+    private LessonRepository lessonRepo;
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+    @Autowired
+    private TaskRepository taskRepo;
+
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    private int students;
+
+    @Test
+    void publishedCatalogUsesSingleQuery() {
+        createCourses(teacher("Ada"), 30, true);
+        createCourses(teacher("Grace"), 5, false);
+        when(currentUser.isAuthenticated()).thenReturn(true);
+        when(currentUser.getRole()).thenReturn(Role.STUDENT);
+
+        List<CourseResponseDTO> courses = countStatements(1, () -> service().getAllCourses());
+
+        assertEquals(30, courses.size());
+        courses.forEach(this::assertCard);
+    }
+
+    @Test
+    void teacherDashboardUsesSingleQuery() {
+        User teacher = teacher("Ada");
+        createCourses(teacher, 12, true);
+        createCourses(teacher, 3, false);
+        createCourses(teacher("Grace"), 10, true);
+        when(currentUser.isAuthenticated()).thenReturn(true);
+        when(currentUser.getRole()).thenReturn(Role.TEACHER);
+        when(currentUser.getId()).thenReturn(teacher.getId());
+
+        List<CourseResponseDTO> courses = countStatements(1, () -> service().getAllCourses());
+
+        assertEquals(15, courses.size());
+        courses.forEach(this::assertCard);
+    }
+
+    @Test
+    void anonymousListingUsesSingleQuery() {
+        createCourses(teacher("Ada"), 3, true);
+        when(currentUser.isAuthenticated()).thenReturn(false);
+        assertEquals(3, countStatements(1, () -> service().getAllCourses()).size());
+
+        createCourses(teacher("Grace"), 40, true);
+        assertEquals(43, countStatements(1, () -> service().getAllCourses()).size());
+    }
+
+    private CourseService service() {
+        return new CourseService(courseRepo, mock(AnnouncementService.class), lessonRepo, enrollmentRepo, taskRepo,
+                currentUser, mock(SearchService.class), mock(LessonProgressTracker.class), new TaskCatalogCache(),
+                new McqAnswerKeyCache());
+    }
+
+    // Runs the listing on an empty persistence context and checks how many statements it prepared
+    private <T> T countStatements(long expected, Supplier<T> listing) {
+        em.flush();
+        em.clear();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = listing.get();
+        assertEquals(expected, statistics.getPrepareStatementCount());
+        return result;
+    }
+
+    // Course n has n % 4 lessons and n % 3 enrollments
+    private void assertCard(CourseResponseDTO card) {
+        int n = Integer.parseInt(card.getTitle().substring(card.getTitle().lastIndexOf(' ') + 1));
+        assertEquals(n % 4, card.getLessonCount().longValue());
+        assertEquals(n % 3, card.getStudentCount().longValue());
+        assertEquals(card.getTitle().substring(0, card.getTitle().indexOf(' ')), card.getTeacherName());
+    }
+
+    private User teacher(String name) {
+        User teacher = new User();
+        teacher.setName(name);
+        teacher.setEmail(name.toLowerCase() + "@example.com");
+        teacher.setPassword("secret");
+        teacher.setRole(Role.TEACHER);
+        return em.persist(teacher);
+    }
+
+    private void createCourses(User teacher, int count, boolean published) {
+        for (int n = 1; n <= count; n++) {
+            Course course = new Course();
+            course.setTitle(teacher.getName() + " course " + n);
+            course.setDescription("Description");
+            course.setTeacher(teacher);
+            course.setPublished(published);
+            em.persist(course);
+            for (int i = 0; i < n % 4; i++) {
+                Lesson lesson = new Lesson();
+                lesson.setTitle("Lesson " + i);
+                lesson.setVideoUrl("/videos/" + i + ".mp4");
+                lesson.setLessonOrder(i + 1);
+                lesson.setCourse(course);
+                em.persist(lesson);
+            }
+            for (int i = 0; i < n % 3; i++) {
+                User student = new User();
+                student.setName("Student");
+                student.setEmail("student" + ++students + "@example.com");
+                student.setPassword("secret");
+                student.setRole(Role.STUDENT);
+                em.persist(student);
+                Enrollment enrollment = new Enrollment();
+                enrollment.setStudent(student);
+                enrollment.setCourse(course);
+                em.persist(enrollment);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import com.example.elearning.dto.response.CoursePageResponseDTO;
+import com.example.elearning.dto.response.CourseResponseDTO;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.EnrollmentRepository;
+import com.example.elearning.repository.LessonRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * Catalog pages are walked by keyset, handing out a cursor only while more
+ * courses follow. Query counts are covered by
+ * {@link CourseListingQueryCountTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CourseServiceTest {
+    @Mock
+    private CourseRepository courseRepo;
+    @Mock
+    private AnnouncementService announcementService;
+    @Mock
+    private LessonRepository lessonRepo;
+    @Mock
+    private EnrollmentRepository enrollmentRepo;
+    @Mock
+    private CurrentUser currentUser;
+    @Mock
+    private SearchService searchService;
+    @InjectMocks
+    private CourseService courseService;
+
+    @Test
+    void catalogPageReturnsCursorForNextPage() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<CourseResponseDTO> rows = LongStream.rangeClosed(1, 3)
+                .mapToObj(id -> new CourseResponseDTO(id, "Course " + id, "Description", false, 0.0,
+                        "Teacher", 0L, 0L, true, start.minusDays(id)))
+                .toList();
+        when(courseRepo.findCatalogPageNewestFirst(isNull(), isNull(), isNull(), isNull(), isNull(), isNull(),
+                eq(PageRequest.of(0, 3)))).thenReturn(rows);
+        when(courseRepo.findCatalogPageNewestFirst(isNull(), isNull(), isNull(), isNull(),
+                eq(start.minusDays(2)), eq(2L), any())).thenReturn(List.of(rows.get(2)));
+
+        CoursePageResponseDTO first = courseService.getCoursePage(2, null, null, null, null, null, "newest");
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextCursor());
+
+        CoursePageResponseDTO second = courseService.getCoursePage(2, first.getNextCursor(), null, null, null,
+                null, "newest");
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+    }
+}
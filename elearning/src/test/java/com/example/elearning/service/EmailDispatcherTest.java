@@ -0,0 +1,108 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.PageRequest;
+import com.example.elearning.model.EmailOutbox;
+import com.example.elearning.model.EmailStatus;
+import com.example.elearning.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailDispatcherTest {
+    private final EmailOutboxRepository outboxRepo = mock(EmailOutboxRepository.class);
+    private final FakeMailSender mailSender = new FakeMailSender();
+    private EmailDispatcher dispatcher;
+    private EmailOutbox mail;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new EmailDispatcher(outboxRepo, new EmailService(mailSender, new SimpleMeterRegistry(), false, 1, 1000), 2, 3, 1000, 5000, 60_000);
+        mail = new EmailOutbox();
+        mail.setRecipient("student@example.com");
+        mail.setSubject("Enrollment Confirmed");
+        mail.setBody("Welcome");
+        mail.setStatus(EmailStatus.SENDING);
+        when(outboxRepo.findById(1L)).thenReturn(Optional.of(mail));
+    }
+
+    @Test
+    void marksDeliveredMailAsSent() {
+        dispatcher.deliver(1L);
+
+        assertEquals(EmailStatus.SENT, mail.getStatus());
+        assertNotNull(mail.getSentAt());
+        assertEquals(1, mailSender.sent().size());
+        assertEquals("student@example.com", mailSender.sent().get(0).getTo()[0]);
+    }
+
+    @Test
+    void retriesWithBackoffThenDeadLetters() {
+        mailSender.failNext(3);
+
+        dispatcher.deliver(1L);
+        assertEquals(EmailStatus.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now()));
+
+        dispatcher.deliver(1L);
+        dispatcher.deliver(1L);
+        assertEquals(EmailStatus.DEAD, mail.getStatus());
+        assertEquals(3, mail.getAttempts());
+        assertTrue(mailSender.sent().isEmpty());
+    }
+
+    @Test
+    void everyPollReleasesExpiredLeases() {
+        when(outboxRepo.findDueIds(any(), any())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepo, times(2)).releaseAbandoned(cutoff.capture());
+        // Only rows claimed more than a lease ago are requeued
+        assertFalse(cutoff.getValue().isBefore(before.minusSeconds(60)));
+        assertFalse(cutoff.getValue().isAfter(LocalDateTime.now().minusSeconds(60)));
+    }
+
+    @Test
+    void failedStatusWriteLeavesRowToTheLease() throws Exception {
+        when(outboxRepo.findDueIds(any(), any())).thenReturn(List.of(1L)).thenReturn(List.of());
+        when(outboxRepo.claim(eq(1L), any())).thenReturn(1);
+        when(outboxRepo.save(any())).thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        dispatcher.dispatch();
+        dispatcher.shutdown();
+
+        assertEquals(1, mailSender.sent().size());
+        // The worker gave its slot back, so the next poll asks for both
+        dispatcher.dispatch();
+        verify(outboxRepo, times(2)).findDueIds(any(), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertEquals(1000, dispatcher.backoff(1));
+        assertEquals(2000, dispatcher.backoff(2));
+        assertEquals(4000, dispatcher.backoff(3));
+        assertEquals(5000, dispatcher.backoff(4));
+        assertEquals(5000, dispatcher.backoff(60));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+
+class EmailServiceTest {
+    private final FakeMailSender mailSender = new FakeMailSender();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailService emailService = new EmailService(mailSender, meterRegistry, false, 1, 1000);
+
+    @Test
+    void sendAllUsesOneConnectionPerBatch() {
+        List<SimpleMailMessage> failed = emailService.sendAll(messages(50));
+
+        assertTrue(failed.isEmpty());
+        assertEquals(50, mailSender.sent().size());
+        assertEquals(1, mailSender.connections());
+        assertEquals(50.0, meterRegistry.counter("elearning.mail.sent").count());
+    }
+
+    @Test
+    void sendAllReportsFailuresInsteadOfThrowing() {
+        mailSender.failNext(1);
+
+        List<SimpleMailMessage> failed = emailService.sendAll(messages(3));
+
+        assertEquals(3, failed.size());
+        assertEquals(3.0, meterRegistry.counter("elearning.mail.failed").count());
+        assertEquals(0.0, meterRegistry.get("elearning.mail.queued").gauge().value());
+    }
+
+    @Test
+    void pooledSendsReuseOneConnection() {
+        EmailService pooled = new EmailService(mailSender, meterRegistry, true, 2, 1000);
+
+        assertTrue(pooled.sendAll(messages(20)).isEmpty());
+        for (int i = 0; i < 5; i++) {
+            pooled.send("teacher@example.com", "Course approved", "Hello");
+        }
+
+        assertEquals(25, mailSender.sent().size());
+        assertEquals(1, mailSender.connections());
+        assertEquals(25.0, meterRegistry.counter("elearning.mail.sent").count());
+    }
+
+    @Test
+    void droppedPooledConnectionIsReplaced() {
+        EmailService pooled = new EmailService(mailSender, meterRegistry, true, 1, 1000);
+        pooled.send("teacher@example.com", "Warm up", "Hello");
+        mailSender.dropNext(1);
+
+        List<SimpleMailMessage> batch = messages(3);
+        List<SimpleMailMessage> failed = pooled.sendAll(batch);
+
+        // Only the message on the dropped connection fails; the rest go over a new one
+        assertEquals(List.of(batch.get(0)), failed);
+        assertEquals(3, mailSender.sent().size());
+        assertEquals(2, mailSender.connections());
+        pooled.send("teacher@example.com", "After reconnect", "Hello");
+        assertEquals(2, mailSender.connections());
+    }
+
+    @Test
+    void failedPooledConnectFailsTheBatch() {
+        EmailService pooled = new EmailService(mailSender, meterRegistry, true, 1, 1000);
+        mailSender.refuseConnections(true);
+
+        assertEquals(4, pooled.sendAll(messages(4)).size());
+        assertThrows(MailSendException.class, () -> pooled.send("teacher@example.com", "Hi", "Hello"));
+
+        // The permit of the failed borrow was returned
+        mailSender.refuseConnections(false);
+        assertTrue(pooled.sendAll(messages(2)).isEmpty());
+        assertEquals(1, mailSender.connections());
+    }
+
+    @Test
+    void borrowGivesUpWhenPoolIsExhausted() throws Exception {
+        SmtpConnectionPool pool = new SmtpConnectionPool(mailSender, 1, 50);
+        Transport held = pool.borrow();
+
+        long start = System.nanoTime();
+        assertThrows(MessagingException.class, pool::borrow);
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+
+        Thread.currentThread().interrupt();
+        assertThrows(MessagingException.class, pool::borrow);
+        assertTrue(Thread.interrupted());
+
+        pool.release(held, true);
+        assertSame(held, pool.borrow());
+    }
+
+    private static List<SimpleMailMessage> messages(int count) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo("student" + i + "@example.com");
+            message.setSubject("New Course Alert");
+            message.setText("Hello");
+            return message;
+        }).toList();
+    }
+}
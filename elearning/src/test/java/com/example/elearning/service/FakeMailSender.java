@@ -0,0 +1,138 @@
+package com.example.elearning.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * In-JVM stand-in for an SMTP server: messages are built exactly as in
+ * production but captured instead of transported. Can be told to fail the
+ * next sends to exercise retries, and serves pooled connections through a
+ * fake transport that can refuse connections or drop mid-send.
+ */
+class FakeMailSender extends JavaMailSenderImpl {
+    private static final String PROTOCOL = "fake-smtp";
+
+    private final List<SimpleMailMessage> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private volatile int failuresLeft;
+    private volatile int dropsLeft;
+    private volatile boolean refuseConnections;
+    private volatile long connectDelayMs;
+
+    FakeMailSender() {
+        Properties properties = new Properties();
+        properties.put(FakeMailSender.class.getName(), this);
+        // Left off the sender so the pool has to resolve it the way JavaMailSenderImpl does
+        properties.put("mail.transport.protocol", PROTOCOL);
+        Session session = Session.getInstance(properties);
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, PROTOCOL, FakeTransport.class.getName(),
+                "test", "1"));
+        setSession(session);
+        setHost("localhost");
+    }
+
+    List<SimpleMailMessage> sent() {
+        return sent;
+    }
+
+    // doSend and every pooled connect each stand for one connection the real sender would open
+    int connections() {
+        return connections.get();
+    }
+
+    void failNext(int count) {
+        failuresLeft = count;
+    }
+
+    // The next pooled sends fail and leave their connection closed
+    void dropNext(int count) {
+        dropsLeft = count;
+    }
+
+    void refuseConnections(boolean refuse) {
+        refuseConnections = refuse;
+    }
+
+    // Simulated TCP, TLS and AUTH cost of opening a connection
+    void connectDelay(long millis) {
+        connectDelayMs = millis;
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        connect();
+        if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new MailSendException("Connection refused");
+        }
+        for (Object original : originalMessages) {
+            if (original instanceof SimpleMailMessage message) {
+                sent.add(message);
+            }
+        }
+    }
+
+    private void connect() {
+        connections.incrementAndGet();
+        if (connectDelayMs > 0) {
+            try {
+                Thread.sleep(connectDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Transport handed out by the session for {@value #PROTOCOL}; records
+     * what would have gone over the wire.
+     */
+    public static class FakeTransport extends Transport {
+        private final FakeMailSender server;
+
+        public FakeTransport(Session session, URLName url) {
+            super(session, url);
+            this.server = (FakeMailSender) session.getProperties().get(FakeMailSender.class.getName());
+        }
+
+        @Override
+        protected boolean protocolConnect(String host, int port, String user, String password)
+                throws MessagingException {
+            if (server.refuseConnections) {
+                throw new MessagingException("Connection refused");
+            }
+            server.connect();
+            return true;
+        }
+
+        @Override
+        public synchronized void sendMessage(Message message, Address[] addresses) throws MessagingException {
+            if (!isConnected()) {
+                throw new MessagingException("Not connected");
+            }
+            if (server.dropsLeft > 0) {
+                server.dropsLeft--;
+                setConnected(false);
+                throw new MessagingException("Connection reset");
+            }
+            SimpleMailMessage copy = new SimpleMailMessage();
+            copy.setTo(Arrays.stream(addresses).map(Address::toString).toArray(String[]::new));
+            copy.setSubject(message.getSubject());
+            server.sent.add(copy);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.example.elearning.repository.LessonProgressRepository;
+import com.example.elearning.repository.LessonRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LessonProgressTrackerTest {
+    @Mock
+    private LessonRepository lessonRepo;
+    @Mock
+    private LessonProgressRepository progressRepo;
+    @InjectMocks
+    private LessonProgressTracker tracker;
+
+    @Test
+    void tracksCompletionAcrossWordBoundaries() {
+        // 130 lessons, ten per day, ids 1000..1129
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            rows.add(new Object[] { 1000L + i, i / 10 + 1 });
+        }
+        when(lessonRepo.findLayoutRows(5L)).thenReturn(rows);
+        when(progressRepo.findLessonIdsByEnrollmentId(9L)).thenReturn(List.of(1000L, 1064L, 1129L, 42L));
+
+        LessonProgressTracker.Progress progress = tracker.get(9L, 5L);
+
+        assertEquals(3, progress.completedCount());
+        assertEquals(130, progress.totalCount());
+        assertEquals(2, progress.percentage());
+        assertEquals(List.of(1000L, 1064L, 1129L), progress.completedLessonIds());
+        assertTrue(progress.isCompleted(1064L));
+        assertFalse(progress.isCompleted(1065L));
+        assertEquals(1, progress.completedOnDay(7));
+    }
+
+    @Test
+    void dayIsCompleteOnlyWhenEveryLessonOfTheDayIsDone() {
+        when(lessonRepo.findLayoutRows(5L)).thenReturn(List.of(
+                new Object[] { 1L, 1 }, new Object[] { 2L, 1 }, new Object[] { 3L, 2 }));
+        when(progressRepo.findLessonIdsByEnrollmentId(9L)).thenReturn(List.of(1L));
+
+        LessonProgressTracker.Progress progress = tracker.get(9L, 5L);
+
+        assertFalse(progress.isDayComplete(1, List.of()));
+        assertFalse(progress.isDayComplete(1, List.of(3L)));
+        assertTrue(progress.isDayComplete(1, List.of(2L)));
+        assertTrue(progress.isDayComplete(1, List.of(1L, 2L)));
+        assertFalse(progress.isDayComplete(3, List.of()));
+    }
+
+    @Test
+    void reusesCachedProgressUntilCourseIsInvalidated() {
+        when(lessonRepo.findLayoutRows(5L)).thenReturn(List.<Object[]>of(new Object[] { 1L, 1 }));
+        when(progressRepo.findLessonIdsByEnrollmentId(9L)).thenReturn(List.of());
+
+        LessonProgressTracker.Progress first = tracker.get(9L, 5L);
+        tracker.markCompleted(9L, 1L);
+        assertSame(first, tracker.get(9L, 5L));
+        assertTrue(first.isCompleted(1L));
+
+        tracker.invalidateCourse(5L);
+        tracker.get(9L, 5L);
+        verify(lessonRepo, times(2)).findLayoutRows(5L);
+        verify(progressRepo, times(2)).findLessonIdsByEnrollmentId(9L);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import com.example.elearning.dto.request.SubmitMcqDTO;
+import com.example.elearning.dto.response.McqSubmissionResponseDTO;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.McqSubmission;
+import com.example.elearning.model.Task;
+import com.example.elearning.model.TaskType;
+import com.example.elearning.model.User;
+import com.example.elearning.repository.McqQuestionRepository;
+import com.example.elearning.repository.McqSubmissionRepository;
+import com.example.elearning.repository.TaskRepository;
+import com.example.elearning.security.CurrentUser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Submissions are graded from the cached answer key, with the same result
+ * as matching a parsed answer map against every question.
+ */
+class McqServiceTest {
+    private final McqSubmissionRepository submissionRepo = mock(McqSubmissionRepository.class);
+    private final McqQuestionRepository questionRepo = mock(McqQuestionRepository.class);
+    private final TaskRepository taskRepo = mock(TaskRepository.class);
+    private final CurrentUser currentUser = mock(CurrentUser.class);
+    private final McqService service = new McqService(submissionRepo, questionRepo, taskRepo, currentUser,
+            new McqAnswerKeyCache());
+
+    @Test
+    void repeatedSubmissionsReadQuestionsOnce() {
+        Course course = new Course();
+        course.setId(9L);
+        Task task = new Task();
+        task.setId(3L);
+        task.setCourse(course);
+        task.setTaskType(TaskType.MCQ);
+        User student = new User();
+        student.setId(4L);
+        when(currentUser.get()).thenReturn(student);
+        when(taskRepo.findById(3L)).thenReturn(Optional.of(task));
+        when(submissionRepo.findByTaskIdAndStudentIdOrderByAttemptNumberDesc(anyLong(), anyLong()))
+                .thenReturn(List.of());
+        when(submissionRepo.save(any())).thenAnswer(inv -> {
+            McqSubmission saved = inv.getArgument(0);
+            saved.setSubmittedAt(LocalDateTime.now());
+            return saved;
+        });
+        when(questionRepo.findAnswerRows(3L)).thenReturn(List.of(
+                new Object[] { 31L, "A" }, new Object[] { 32L, "B" }, new Object[] { 30L, "C" }));
+
+        for (int i = 0; i < 50; i++) {
+            McqSubmissionResponseDTO result = service.submitMcq(
+                    submit(3L, "{\"30\": \"C\", \"31\": \"B\", \"32\": \"B\", \"99\": \"A\", \"031\": \"A\"}"));
+            assertEquals(3, result.getTotalQuestions());
+            assertEquals(2, result.getCorrectAnswers());
+        }
+
+        verify(questionRepo, times(1)).findAnswerRows(3L);
+        verify(questionRepo, never()).findByTaskIdOrderByQuestionOrderAsc(any());
+        assertThrows(RuntimeException.class, () -> service.submitMcq(submit(3L, "[\"A\"]")));
+        assertThrows(RuntimeException.class, () -> service.submitMcq(submit(3L, "{\"30\": {\"x\": 1}}")));
+        assertThrows(RuntimeException.class, () -> service.submitMcq(submit(3L, "not json")));
+    }
+
+    @Test
+    void keyGradesLikeAnswerMap() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonFactory json = mapper.getFactory();
+        Random random = new Random(42);
+        String[] choices = { "A", "B", "C", "D", "a", "", "AB" };
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1000; id < 1050; id++) {
+            rows.add(new Object[] { id, choices[random.nextInt(4)] });
+        }
+        McqAnswerKey key = McqAnswerKey.of(9L, rows);
+        List<String> submissions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Map<String, String> answers = new HashMap<>();
+            for (Object[] row : rows) {
+                if (random.nextInt(10) > 0) {
+                    answers.put(row[0].toString(), choices[random.nextInt(choices.length)]);
+                }
+            }
+            answers.put("5000", "A");
+            submissions.add(mapper.writeValueAsString(answers));
+        }
+
+        for (String submission : submissions) {
+            Map<String, String> answers = mapper.readValue(submission, new TypeReference<Map<String, String>>() {
+            });
+            int expected = 0;
+            for (Object[] row : rows) {
+                if (row[1].equals(answers.get(row[0].toString()))) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, key.grade(json, submission));
+        }
+    }
+
+    private static SubmitMcqDTO submit(Long taskId, String answers) {
+        SubmitMcqDTO dto = new SubmitMcqDTO();
+        dto.setTaskId(taskId);
+        dto.setAnswers(answers);
+        return dto;
+    }
+}
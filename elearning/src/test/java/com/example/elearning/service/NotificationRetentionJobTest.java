@@ -0,0 +1,152 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Retention must delete expired read rows chunk by chunk, merge unread
+ * duplicates into the newest row with the right total, and leave rows
+ * created after the run started alone. Merging runs against H2 in MySQL
+ * mode.
+ */
+class NotificationRetentionJobTest {
+    private final EmbeddedDatabase db = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName("retention;MODE=MySQL")
+            .generateUniqueName(false)
+            .build();
+    private final JdbcTemplate jdbc = new JdbcTemplate(db);
+    private final NotificationRetentionJob job = new NotificationRetentionJob(jdbc,
+            new TransactionTemplate(new DataSourceTransactionManager(db)), new NotificationUnreadCounter(),
+            new SimpleMeterRegistry(), true, 90, 3);
+    private final LocalDateTime startedAt = LocalDateTime.of(2026, 3, 1, 3, 30);
+
+    NotificationRetentionJobTest() {
+        jdbc.execute("create table notifications (id bigint auto_increment primary key, user_id bigint not null, "
+                + "message varchar(255), type varchar(255), is_read boolean, related_entity_id bigint, "
+                + "created_at timestamp, collapsed_count int)");
+        jdbc.execute("create table tasks (id bigint primary key, title varchar(255))");
+    }
+
+    @AfterEach
+    void shutdown() {
+        db.shutdown();
+    }
+
+    @Test
+    void deletesExpiredReadRowsInChunks() {
+        // MySQL-only "delete ... order by ... limit", so the loop is checked against a stub
+        JdbcTemplate stub = mock(JdbcTemplate.class);
+        when(stub.update(startsWith("delete from notifications where is_read = true"), any(Timestamp.class), anyInt()))
+                .thenReturn(3, 3, 1, 3);
+        NotificationRetentionJob chunked = new NotificationRetentionJob(stub,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new NotificationUnreadCounter(),
+                new SimpleMeterRegistry(), true, 90, 3);
+
+        assertEquals(7, chunked.deleteExpired(startedAt.minusDays(90)));
+
+        // Chunks of 3, 3 and 1; the short chunk ends the loop
+        verify(stub, times(3)).update(startsWith("delete from notifications where is_read = true"),
+                eq(Timestamp.valueOf(startedAt.minusDays(90))), eq(3));
+    }
+
+    @Test
+    void expiredDeletionStopsOnEmptyChunk() {
+        JdbcTemplate stub = mock(JdbcTemplate.class);
+        when(stub.update(startsWith("delete from notifications where is_read = true"), any(Timestamp.class), anyInt()))
+                .thenReturn(3, 3, 0, 3);
+        NotificationRetentionJob chunked = new NotificationRetentionJob(stub,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new NotificationUnreadCounter(),
+                new SimpleMeterRegistry(), true, 90, 3);
+
+        assertEquals(6, chunked.deleteExpired(startedAt.minusDays(90)));
+
+        verify(stub, times(3)).update(startsWith("delete from notifications where is_read = true"), any(Timestamp.class), anyInt());
+    }
+
+    @Test
+    void mergesIntoAlreadyCollapsedSurvivor() {
+        LocalDateTime at = startedAt.minusHours(2);
+        insert(1L, "Comment on lesson", "COMMENT", false, 5L, at, null);
+        insert(1L, "Another comment", "COMMENT", false, 5L, at, 2);
+        long survivor = insert(1L, "4 new notifications. Latest: Newest comment", "COMMENT", false, 5L, at, 4);
+        insert(1L, "Read comment", "COMMENT", true, 5L, at, null);
+        insert(2L, "Other user", "COMMENT", false, 5L, at, null);
+
+        assertEquals(2, job.collapseDuplicates(startedAt));
+
+        Map<String, Object> row = jdbc.queryForMap(
+                "select id, collapsed_count, message from notifications where user_id = 1 and is_read = false");
+        assertEquals(survivor, ((Number) row.get("ID")).longValue());
+        assertEquals(7, ((Number) row.get("COLLAPSED_COUNT")).intValue());
+        assertEquals("7 new notifications. Latest: Newest comment", row.get("MESSAGE"));
+        assertEquals(List.of("Read comment", "Other user"), messages().subList(1, 3));
+    }
+
+    @Test
+    void mergesSubmissionsUnderTaskTitle() {
+        jdbc.update("insert into tasks (id, title) values (8, 'Sum two numbers')");
+        LocalDateTime at = startedAt.minusHours(2);
+        for (int i = 0; i < 4; i++) {
+            insert(3L, "New submission " + i, "SUBMISSION", false, 8L, at, null);
+        }
+
+        assertEquals(3, job.collapseDuplicates(startedAt));
+
+        assertEquals(List.of("4 new submissions for task: Sum two numbers"), messages());
+    }
+
+    @Test
+    void leavesRowsCreatedAfterStartAlone() {
+        LocalDateTime before = startedAt.minusMinutes(5);
+        LocalDateTime after = startedAt.plusSeconds(1);
+        insert(1L, "First", "COMMENT", false, 5L, before, null);
+        long survivor = insert(1L, "Second", "COMMENT", false, 5L, before, null);
+        long arrived = insert(1L, "Arrived mid-run", "COMMENT", false, 5L, after, null);
+        insert(2L, "Only one before", "COMMENT", false, 6L, before, null);
+        insert(2L, "And one after", "COMMENT", false, 6L, after, null);
+
+        assertEquals(1, job.collapseDuplicates(startedAt));
+
+        assertEquals(List.of("2 new notifications. Latest: Second", "Arrived mid-run", "Only one before",
+                "And one after"), messages());
+        assertEquals(2, jdbc.queryForObject("select collapsed_count from notifications where id = ?",
+                Integer.class, survivor));
+        assertEquals(null, jdbc.queryForObject("select collapsed_count from notifications where id = ?",
+                Integer.class, arrived));
+    }
+
+    private long insert(Long userId, String message, String type, boolean read, Long entityId,
+            LocalDateTime createdAt, Integer collapsedCount) {
+        jdbc.update("insert into notifications (user_id, message, type, is_read, related_entity_id, created_at, "
+                + "collapsed_count) values (?, ?, ?, ?, ?, ?, ?)", userId, message, type, read, entityId,
+                Timestamp.valueOf(createdAt), collapsedCount);
+        return jdbc.queryForObject("select max(id) from notifications", Long.class);
+    }
+
+    private List<String> messages() {
+        return jdbc.queryForList("select message from notifications order by id", String.class);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import com.example.elearning.dto.response.NotificationResponseDTO;
+import com.example.elearning.repository.NotificationRepository;
+
+/**
+ * Fan-out of one notification to 10k recipients must cost one JDBC batch
+ * per {@code notifications.batch-size} rows, not one insert per user.
+ */
+class NotificationServiceTest {
+    private final NotificationRepository repo = mock(NotificationRepository.class);
+    private final NotificationStreamRegistry streams = mock(NotificationStreamRegistry.class);
+    private final NotificationUnreadCounter counter = new NotificationUnreadCounter();
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final NotificationService service = new NotificationService(repo, streams, counter, jdbc, 500);
+
+    @Test
+    void fansOutInBatches() {
+        AtomicLong nextId = new AtomicLong(1);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbc.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(inv -> {
+                    BatchPreparedStatementSetter setter = inv.getArgument(1);
+                    KeyHolder keys = inv.getArgument(2);
+                    batchSizes.add(setter.getBatchSize());
+                    for (int i = 0; i < setter.getBatchSize(); i++) {
+                        keys.getKeyList().add(Map.of("GENERATED_KEY", nextId.getAndIncrement()));
+                    }
+                    return new int[setter.getBatchSize()];
+                });
+        counter.get(42L, () -> 3);
+        List<Long> recipients = LongStream.rangeClosed(1, 10_000).boxed().toList();
+
+        service.notifyAllById(recipients, "New lesson", "LESSON", 9L);
+
+        assertEquals(20, batchSizes.size());
+        assertEquals(500, batchSizes.get(0));
+        assertEquals(4, counter.get(42L, () -> 99));
+        ArgumentCaptor<Long> users = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<NotificationResponseDTO> pushed = ArgumentCaptor.forClass(NotificationResponseDTO.class);
+        verify(streams, times(10_000)).publish(users.capture(), pushed.capture());
+        verify(streams).publish(eq(42L), any());
+        // Keys come back in row order, so recipient n got the n-th generated id
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(users.getAllValues().get(i), pushed.getAllValues().get(i).getId());
+        }
+    }
+
+    @Test
+    void missingKeysAreNotMisassigned() {
+        when(jdbc.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(inv -> {
+                    KeyHolder keys = inv.getArgument(2);
+                    keys.getKeyList().add(Map.of("GENERATED_KEY", 50L));
+                    return new int[3];
+                });
+
+        service.notifyAllById(List.of(1L, 2L, 3L), "New lesson", "LESSON", 9L);
+
+        ArgumentCaptor<NotificationResponseDTO> pushed = ArgumentCaptor.forClass(NotificationResponseDTO.class);
+        verify(streams, times(3)).publish(any(), pushed.capture());
+        pushed.getAllValues().forEach(dto -> assertNull(dto.getId()));
+    }
+
+    @Test
+    void duplicateRecipientsGetOneRow() {
+        when(jdbc.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class))).thenAnswer(inv -> {
+                    BatchPreparedStatementSetter setter = inv.getArgument(1);
+                    assertEquals(2, setter.getBatchSize());
+                    return new int[2];
+                });
+
+        service.notifyAllById(List.of(1L, 2L, 1L), "New lesson", "LESSON", 9L);
+
+        verify(streams, times(2)).publish(any(), any());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.example.elearning.dto.response.NotificationResponseDTO;
+
+/**
+ * Streams must be replayed before live notifications without losing or
+ * repeating any, stay within the per-user limit, answer heartbeats, and be
+ * dropped as soon as they complete or fail.
+ */
+class NotificationStreamRegistryTest {
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final NotificationStreamRegistry registry = new NotificationStreamRegistry(60_000) {
+        @Override
+        SseEmitter newEmitter() {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @Test
+    void replaysBeforeLiveNotificationsWithoutDuplicates() {
+        RecordingEmitter emitter = (RecordingEmitter) registry.subscribe(1L, () -> {
+            // Published after the stream was registered but before the replay was read
+            registry.publish(1L, notification(12L));
+            registry.publish(1L, notification(13L));
+            return List.of(notification(11L), notification(12L));
+        });
+        registry.publish(1L, notification(14L));
+
+        assertEquals(List.of(11L, 12L, 13L, 14L), emitter.ids());
+    }
+
+    @Test
+    void failedReplayLoadUnregistersStream() {
+        registry.subscribe(1L, List::of);
+        assertThrows(RuntimeException.class, () -> registry.subscribe(1L, () -> {
+            throw new RuntimeException("database down");
+        }));
+
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void oldestStreamIsClosedAboveLimit() {
+        for (int i = 0; i < 6; i++) {
+            registry.subscribe(1L, List::of);
+        }
+        registry.publish(1L, notification(20L));
+
+        assertEquals(5, registry.size());
+        assertTrue(emitters.get(0).completed);
+        assertEquals(List.of(), emitters.get(0).ids());
+        assertEquals(List.of(20L), emitters.get(5).ids());
+    }
+
+    @Test
+    void heartbeatReachesStreamsAndDropsDeadOnes() {
+        registry.subscribe(1L, List::of);
+        registry.subscribe(2L, List::of);
+        emitters.get(1).broken = true;
+
+        registry.heartbeat();
+
+        assertEquals(1, emitters.get(0).heartbeats);
+        assertEquals(1, registry.size());
+        registry.heartbeat();
+        assertEquals(2, emitters.get(0).heartbeats);
+    }
+
+    @Test
+    void completedErroredAndFailedStreamsAreRemoved() {
+        registry.subscribe(1L, List::of);
+        registry.subscribe(1L, List::of);
+        registry.subscribe(1L, List::of);
+        assertEquals(3, registry.size());
+
+        emitters.get(0).complete();
+        assertEquals(2, registry.size());
+        emitters.get(1).fail(new IOException("reset by peer"));
+        assertEquals(1, registry.size());
+        emitters.get(2).broken = true;
+        registry.publish(1L, notification(30L));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    void notificationWithoutIdIsSentWithoutEventId() {
+        RecordingEmitter emitter = (RecordingEmitter) registry.subscribe(1L, List::of);
+
+        registry.publish(1L, notification(40L));
+        registry.publish(1L, notification(null));
+
+        assertEquals(Arrays.asList(40L, null), emitter.ids());
+        assertEquals(List.of("40"), emitter.eventIds);
+    }
+
+    private static NotificationResponseDTO notification(Long id) {
+        return new NotificationResponseDTO(id, "New lesson", "LESSON", false, 9L, LocalDateTime.now());
+    }
+
+    /**
+     * Records what the registry writes and runs the callbacks the servlet
+     * container would run.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private static final Pattern EVENT_ID = Pattern.compile("(?m)^id:(.*)$");
+
+        final List<NotificationResponseDTO> sent = new ArrayList<>();
+        final List<String> eventIds = new ArrayList<>();
+        int heartbeats;
+        boolean broken;
+        boolean completed;
+        Runnable completion = () -> {
+        };
+        Consumer<Throwable> error = e -> {
+        };
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("broken pipe");
+            }
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof NotificationResponseDTO notification) {
+                    sent.add(notification);
+                } else if (part.getData().toString().contains(":keepalive")) {
+                    heartbeats++;
+                } else {
+                    Matcher id = EVENT_ID.matcher(part.getData().toString());
+                    if (id.find()) {
+                        eventIds.add(id.group(1));
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completion = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            error = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            completion.run();
+        }
+
+        void fail(Throwable e) {
+            error.accept(e);
+        }
+
+        List<Long> ids() {
+            return sent.stream().map(NotificationResponseDTO::getId).toList();
+        }
+    }
+}
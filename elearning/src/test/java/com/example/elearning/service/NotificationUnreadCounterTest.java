@@ -0,0 +1,52 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class NotificationUnreadCounterTest {
+    private final NotificationUnreadCounter counter = new NotificationUnreadCounter();
+
+    @Test
+    void loadsOnceThenFollowsWrites() {
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(3, counter.get(1L, () -> {
+            loads.incrementAndGet();
+            return 3;
+        }));
+
+        counter.adjust(1L, 1);
+        counter.adjust(1L, -1);
+        counter.adjust(1L, -1);
+        assertEquals(2, counter.get(1L, () -> {
+            loads.incrementAndGet();
+            return 99;
+        }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void neverGoesNegative() {
+        counter.get(1L, () -> 0);
+        counter.adjust(1L, -1);
+        assertEquals(0, counter.get(1L, () -> 99));
+    }
+
+    @Test
+    void evictReloads() {
+        counter.get(1L, () -> 5);
+        counter.evict(1L);
+        assertEquals(0, counter.get(1L, () -> 0));
+    }
+
+    @Test
+    void loadRacingWithWriteIsNotCached() {
+        // A notification committed while the count query was running
+        assertEquals(4, counter.get(1L, () -> {
+            counter.adjust(1L, 1);
+            return 4;
+        }));
+        assertEquals(5, counter.get(1L, () -> 5));
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Accepted completions must be written exactly once: deduplicated while
+ * queued, visible until written, kept after a failed batch, and never
+ * dropped on shutdown.
+ */
+class ProgressWriteBehindTest {
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final ProgressService progressService = mock(ProgressService.class);
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<ProgressService> provider = mock(ObjectProvider.class);
+    private final List<Integer> batches = new ArrayList<>();
+    private final ProgressWriteBehind writeBehind = new ProgressWriteBehind(jdbc,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), mock(LessonProgressTracker.class),
+            provider, new SimpleMeterRegistry(), true, 100, 10, 200);
+
+    ProgressWriteBehindTest() {
+        when(provider.getObject()).thenReturn(progressService);
+    }
+
+    @Test
+    void deduplicatesQueuedCompletions() {
+        recordBatches();
+        assertTrue(writeBehind.offer(1L, 5L, 10L));
+        assertTrue(writeBehind.offer(1L, 5L, 10L));
+        assertTrue(writeBehind.offer(1L, 5L, 11L));
+
+        assertEquals(2, writeBehind.size());
+        writeBehind.flush();
+
+        assertEquals(List.of(2), batches);
+        assertEquals(0, writeBehind.size());
+    }
+
+    @Test
+    void pendingLessonsShowUntilWritten() {
+        recordBatches();
+        writeBehind.offer(1L, 5L, 10L);
+        writeBehind.offer(2L, 5L, 10L);
+
+        assertEquals(Set.of(10L), writeBehind.pendingLessons(1L));
+        assertTrue(writeBehind.isPending(2L, 10L));
+        writeBehind.flush();
+
+        assertEquals(Set.of(), writeBehind.pendingLessons(1L));
+        assertFalse(writeBehind.isPending(2L, 10L));
+    }
+
+    @Test
+    void failedBatchStaysQueued() {
+        when(jdbc.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"))
+                .thenReturn(new int[0][]);
+        writeBehind.offer(1L, 5L, 10L);
+
+        writeBehind.flush();
+        assertEquals(1, writeBehind.size());
+        assertEquals(Set.of(10L), writeBehind.pendingLessons(1L));
+
+        writeBehind.flush();
+        assertEquals(0, writeBehind.size());
+        assertEquals(Set.of(), writeBehind.pendingLessons(1L));
+    }
+
+    @Test
+    void shutdownDrainsQueue() {
+        recordBatches();
+        for (long lesson = 1; lesson <= 25; lesson++) {
+            writeBehind.offer(1L, 5L, lesson);
+        }
+
+        writeBehind.shutdown();
+
+        assertEquals(0, writeBehind.size());
+        assertEquals(25, batches.stream().mapToInt(Integer::intValue).sum());
+        assertFalse(writeBehind.offer(1L, 5L, 99L));
+        verifyNoInteractions(progressService);
+    }
+
+    @Test
+    void shutdownFallsBackToDirectWrites() {
+        when(jdbc.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        writeBehind.offer(1L, 5L, 10L);
+        writeBehind.offer(2L, 5L, 11L);
+
+        writeBehind.shutdown();
+
+        verify(jdbc, atLeastOnce()).batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(progressService).writeCompletion(1L, 5L, 10L);
+        verify(progressService).writeCompletion(2L, 5L, 11L);
+        assertEquals(0, writeBehind.size());
+        assertEquals(Set.of(), writeBehind.pendingLessons(1L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatches() {
+        when(jdbc.batchUpdate(anyString(), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(inv -> {
+                    batches.add(((Collection<Object>) inv.getArgument(1)).size());
+                    return new int[0][];
+                });
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.elearning.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.example.elearning.dto.TaskDTO;
+import com.example.elearning.dto.request.CreateTaskRequest;
+import com.example.elearning.model.Course;
+import com.example.elearning.model.McqQuestion;
+import com.example.elearning.model.Role;
+import com.example.elearning.model.Task;
+import com.example.elearning.model.TaskType;
+import com.example.elearning.repository.CourseRepository;
+import com.example.elearning.repository.McqQuestionRepository;
+import com.example.elearning.repository.TaskCompletionRepository;
+import com.example.elearning.repository.TaskRepository;
+import com.example.elearning.security.CurrentUser;
+
+/**
+ * Task lists come from one cached catalog per course, so each reader must
+ * get their own copy: one student's completion flags never show up for
+ * another, and students never see MCQ answers. Creating or deleting a task
+ * drops the course from the cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class TaskServiceTest {
+    private static final Long COURSE_ID = 1L;
+
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private TaskCompletionRepository taskCompletionRepository;
+    @Mock
+    private CourseRepository courseRepository;
+    @Mock
+    private CurrentUser currentUser;
+    @Mock
+    private McqQuestionRepository mcqQuestionRepository;
+    @Spy
+    private TaskCatalogCache taskCatalogCache = new TaskCatalogCache();
+    @Spy
+    private McqAnswerKeyCache mcqAnswerKeyCache = new McqAnswerKeyCache();
+    @InjectMocks
+    private TaskService taskService;
+
+    private final Course course = course();
+    private final Task coding = task(10L, TaskType.CODING);
+    private final Task quiz = task(11L, TaskType.MCQ);
+
+    @Test
+    void completionIsPerStudentOverSharedCatalog() {
+        stubCatalog();
+        when(currentUser.getRole()).thenReturn(Role.STUDENT);
+        when(currentUser.getId()).thenReturn(100L, 200L, 100L);
+        when(taskCompletionRepository.findCompletedTaskIds(100L, COURSE_ID)).thenReturn(Set.of(10L));
+        when(taskCompletionRepository.findCompletedTaskIds(200L, COURSE_ID)).thenReturn(Set.of(11L));
+
+        List<TaskDTO> alice = taskService.getTasksForCourse(COURSE_ID);
+        List<TaskDTO> bob = taskService.getTasksForCourse(COURSE_ID);
+        List<TaskDTO> aliceAgain = taskService.getTasksForCourse(COURSE_ID);
+
+        assertTrue(alice.get(0).isCompleted());
+        assertFalse(alice.get(1).isCompleted());
+        assertFalse(bob.get(0).isCompleted());
+        assertTrue(bob.get(1).isCompleted());
+        assertTrue(aliceAgain.get(0).isCompleted());
+        assertFalse(aliceAgain.get(1).isCompleted());
+        assertNotSame(alice.get(0), bob.get(0));
+        verify(taskRepository, times(1)).findByCourseIdWithTestCases(COURSE_ID);
+
+        // The shared entries themselves are never flagged
+        TaskCatalogCache.Views cached = taskCatalogCache.get(COURSE_ID, () -> fail("catalog should be cached"));
+        assertTrue(cached.student().stream().noneMatch(TaskDTO::isCompleted));
+        assertTrue(cached.staff().stream().noneMatch(TaskDTO::isCompleted));
+    }
+
+    @Test
+    void onlyStaffSeeMcqAnswers() {
+        stubCatalog();
+        when(currentUser.getRole()).thenReturn(Role.STUDENT, Role.TEACHER);
+        when(currentUser.getId()).thenReturn(100L, 7L);
+        when(taskCompletionRepository.findCompletedTaskIds(any(), any())).thenReturn(Set.of());
+
+        TaskDTO studentQuiz = taskService.getTasksForCourse(COURSE_ID).get(1);
+        TaskDTO teacherQuiz = taskService.getTasksForCourse(COURSE_ID).get(1);
+
+        assertNull(studentQuiz.getMcqQuestions().get(0).getCorrectAnswer());
+        assertEquals("B", teacherQuiz.getMcqQuestions().get(0).getCorrectAnswer());
+        verify(taskRepository, times(1)).findByCourseIdWithTestCases(COURSE_ID);
+    }
+
+    @Test
+    void createTaskEvictsCourse() {
+        stubCatalog();
+        when(currentUser.getRole()).thenReturn(Role.STUDENT);
+        when(taskCompletionRepository.findCompletedTaskIds(any(), any())).thenReturn(Set.of());
+        when(courseRepository.findById(COURSE_ID)).thenReturn(Optional.of(course));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        taskService.getTasksForCourse(COURSE_ID);
+
+        CreateTaskRequest request = new CreateTaskRequest();
+        request.setTitle("New task");
+        request.setTaskType("CODING");
+        taskService.createTask(COURSE_ID, request);
+        taskService.getTasksForCourse(COURSE_ID);
+
+        verify(taskCatalogCache).evict(COURSE_ID);
+        verify(taskRepository, times(2)).findByCourseIdWithTestCases(COURSE_ID);
+    }
+
+    @Test
+    void deleteTaskEvictsCourseAndAnswerKey() {
+        stubCatalog();
+        when(currentUser.getRole()).thenReturn(Role.ADMIN);
+        when(taskCompletionRepository.findCompletedTaskIds(any(), any())).thenReturn(Set.of());
+        when(taskRepository.findById(11L)).thenReturn(Optional.of(quiz));
+        taskService.getTasksForCourse(COURSE_ID);
+
+        taskService.deleteTask(11L);
+        taskService.getTasksForCourse(COURSE_ID);
+
+        verify(taskCatalogCache).evict(COURSE_ID);
+        verify(mcqAnswerKeyCache).evict(11L);
+        verify(taskRepository, times(2)).findByCourseIdWithTestCases(COURSE_ID);
+    }
+
+    @Test
+    void loadRacingEvictionIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+        TaskCatalogCache.Views stale = taskCatalogCache.get(COURSE_ID, () -> {
+            loads.incrementAndGet();
+            // A task is created while the old catalog is being built
+            taskCatalogCache.evict(COURSE_ID);
+            return new TaskCatalogCache.Views(List.of(), List.of());
+        });
+        TaskCatalogCache.Views fresh = taskCatalogCache.get(COURSE_ID, () -> {
+            loads.incrementAndGet();
+            return new TaskCatalogCache.Views(List.of(), List.of());
+        });
+
+        assertNotSame(stale, fresh);
+        assertEquals(2, loads.get());
+        assertEquals(fresh, taskCatalogCache.get(COURSE_ID, () -> fail("catalog should be cached")));
+    }
+
+    private void stubCatalog() {
+        when(taskRepository.findByCourseIdWithTestCases(COURSE_ID)).thenReturn(List.of(coding, quiz));
+    }
+
+    private static Course course() {
+        Course course = new Course();
+        course.setId(COURSE_ID);
+        course.setTitle("Java");
+        return course;
+    }
+
+    private Task task(Long id, TaskType type) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setTaskType(type);
+        task.setCourse(course);
+        if (type == TaskType.MCQ) {
+            McqQuestion question = new McqQuestion();
+            question.setId(id * 100);
+            question.setQuestion("Pick one");
+            question.setOptionA("a");
+            question.setOptionB("b");
+            question.setCorrectAnswer("B");
+            question.setQuestionOrder(1);
+            question.setTask(task);
+            task.setMcqQuestions(List.of(question));
+        }
+        return task;
+    }
+}